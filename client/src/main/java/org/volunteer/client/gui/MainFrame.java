@@ -166,7 +166,9 @@ public class MainFrame extends JFrame implements NetworkListener {
                 assignmentsText.setText("No assignment available.");
             } else {
                 Service svc = myAssign.assignedService();
-                String sb = "Your assigned service is:\n" +
+                String sb = (response.provisional()
+                        ? "Your provisional service (still optimising) is:\n"
+                        : "Your assigned service is:\n") +
                         svc.serviceName() +
                         "\n\n" +
                         "Service description:\n" +
@@ -4,5 +4,6 @@ import com.google.gson.annotations.SerializedName;
 import java.util.List;
 
 public record AssignmentUpdateResponse(
-        @SerializedName("assignments") List<Assignment> assignments
+        @SerializedName("assignments") List<Assignment> assignments,
+        @SerializedName("provisional") boolean provisional
 ) {}
\ No newline at end of file
@@ -2,19 +2,64 @@ package org.volunteer.server.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class AsyncConfig {
 
+    /**
+     * Threads optimisation runs execute on. Unbounded, since the manager caps how many
+     * runs execute at once and queues the rest fairly per event.
+     */
     @Bean(destroyMethod = "shutdownNow")
+    @Primary
     public ExecutorService gaExecutor() {
+        AtomicInteger index = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "ga-worker-" + index.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Sends WebSocket broadcasts in order, off the solver thread, so that cancelling a
+     * run (which interrupts its ga-worker) never aborts a send half-way and closes sessions.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService broadcastExecutor() {
         return Executors.newSingleThreadExecutor(r -> {
-            Thread t = new Thread(r, "ga-worker");
+            Thread t = new Thread(r, "ws-broadcast");
             t.setDaemon(true);
             return t;
         });
     }
-} 
\ No newline at end of file
+
+    /** Timer that fires debounced optimisation requests once updates quieten down. */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService solveScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "solve-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Core-sized pool the island-model GA evolves its sub-populations on. */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool gaPool() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("ga-island-" + t.getPoolIndex());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+    }
+}
\ No newline at end of file
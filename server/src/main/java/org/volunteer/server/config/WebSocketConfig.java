@@ -17,6 +17,6 @@ public class WebSocketConfig implements WebSocketConfigurer {
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry reg) {
-        reg.addHandler(handler, "/").setAllowedOriginPatterns("*");     
+        reg.addHandler(handler, "/", "/events/*").setAllowedOriginPatterns("*");     
     }
 } 
\ No newline at end of file
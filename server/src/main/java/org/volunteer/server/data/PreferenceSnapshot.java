@@ -0,0 +1,46 @@
+package org.volunteer.server.data;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import org.volunteer.server.model.VolunteerPreference;
+
+/**
+ * Immutable view of an event's preferences at one version of {@link PreferenceStorage}.
+ * <p>
+ * Element {@code i} is the volunteer with dense index {@code i}: indices are assigned in
+ * order of first submission and never change, so a volunteer keeps their gene position
+ * in every later snapshot and new volunteers are appended. The view shares the storage's
+ * chunks instead of copying them, which the storage copies before writing to them again.
+ */
+public final class PreferenceSnapshot extends AbstractList<VolunteerPreference> implements RandomAccess {
+
+    /** Snapshot of an event nobody has submitted preferences for. */
+    static final PreferenceSnapshot EMPTY = new PreferenceSnapshot(new VolunteerPreference[0][], 0, 0);
+
+    private final VolunteerPreference[][] chunks;
+    private final int size;
+    private final long version;
+
+    PreferenceSnapshot(VolunteerPreference[][] chunks, int size, long version) {
+        this.chunks = chunks;
+        this.size = size;
+        this.version = version;
+    }
+
+    @Override
+    public VolunteerPreference get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return chunks[index >>> PreferenceStorage.CHUNK_SHIFT][index & PreferenceStorage.CHUNK_MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** @return number of preference updates the event had received when the snapshot was taken */
+    public long version() {
+        return version;
+    }
+}
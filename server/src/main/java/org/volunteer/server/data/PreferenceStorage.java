@@ -1,7 +1,8 @@
 package org.volunteer.server.data;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -11,40 +12,102 @@ import org.volunteer.server.model.VolunteerPreference;
 /**
  * Manages thread-safe storage and retrieval of volunteer preferences.
  * <p>
- * This service maintains preferences in a concurrent map keyed by volunteer IDs,
- * ensuring atomic operations and uniqueness per volunteer. All methods are
- * thread-safe for concurrent access.
+ * Each event's preferences are stored in arrival order: a volunteer gets a stable dense
+ * index on their first submission, later updates overwrite that slot, and every update
+ * bumps the event's version. Slots live in fixed-size chunks behind a spine array.
+ * {@link #snapshot} hands out the current spine in O(1) and marks it and its chunks as
+ * shared; the next writes copy the spine once and each chunk they touch once, so readers
+ * get a consistent view without copying or sorting and an update costs O(1) amortised
+ * plus one spine copy per snapshot. All methods are thread-safe for concurrent access.
  */
 @Component
 public class PreferenceStorage {
 
-    private final ConcurrentMap<String, VolunteerPreference> store = new ConcurrentHashMap<>();
+    /** log2 of the number of slots per chunk. */
+    static final int CHUNK_SHIFT = 6;
+    static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final ConcurrentMap<String, EventPreferences> events = new ConcurrentHashMap<>();
 
     /**
      * Saves or updates a volunteer preference atomically.
      * <p>
-     * If a preference with the same volunteer ID exists, it is replaced.
-     * The entire operation is thread-safe.
+     * If a preference with the same volunteer ID exists in the event, it is replaced in
+     * place; otherwise the volunteer is appended with the next index. The entire
+     * operation is thread-safe.
      *
+     * @param eventId event the preference belongs to
      * @param vp the volunteer preference to save; must not be {@code null}
+     * @return the event's version after the update
      * @throws NullPointerException if {@code vp} is {@code null}
      */
-    public void save(VolunteerPreference vp) {
-        store.put(vp.volunteerId(), vp);
+    public long save(String eventId, VolunteerPreference vp) {
+        return events.computeIfAbsent(eventId, id -> new EventPreferences()).save(vp);
     }
 
     /**
-     * Provides an immutable, volunteer ID-ordered snapshot of all current preferences.
+     * Provides an immutable snapshot of an event's current preferences in O(1).
      * <p>
-     * The returned list is sorted lexicographically by volunteer ID and reflects
-     * the state at the time of invocation. Subsequent changes to the store will not
-     * affect the returned list.
+     * Volunteers are ordered by their stable index, i.e. by first submission. The
+     * snapshot reflects the state at the time of invocation; subsequent changes to the
+     * store will not affect it.
      *
-     * @return an unmodifiable list of preferences sorted in ascending volunteer ID order
+     * @param eventId event whose preferences to return
+     * @return unmodifiable list of the event's preferences with its version
      */
-    public List<VolunteerPreference> orderedSnapshot() {
-        return store.values().stream()
-                .sorted(Comparator.comparing(VolunteerPreference::volunteerId))
-                .toList();
+    public PreferenceSnapshot snapshot(String eventId) {
+        EventPreferences store = events.get(eventId);
+        return store == null ? PreferenceSnapshot.EMPTY : store.snapshot();
+    }
+
+    /** Copy-on-write chunked preference array of one event. */
+    private static final class EventPreferences {
+
+        private final Map<String, Integer> index = new HashMap<>();
+        private VolunteerPreference[][] spine = new VolunteerPreference[0][];
+        private boolean spineShared;
+
+        /** Epoch each chunk was allocated or copied in; chunks of the current epoch are unshared. */
+        private long[] chunkEpoch = new long[0];
+        private long epoch;
+
+        private int size;
+        private long version;
+
+        synchronized long save(VolunteerPreference vp) {
+            Integer known = index.get(vp.volunteerId());
+            int pos = known != null ? known : size;
+            int c = pos >>> CHUNK_SHIFT;
+
+            if (c >= spine.length) {
+                int length = Math.max(4, spine.length * 2);
+                spine = Arrays.copyOf(spine, length);
+                chunkEpoch = Arrays.copyOf(chunkEpoch, length);
+                spineShared = false;
+            } else if (spineShared) {
+                spine = spine.clone();
+                spineShared = false;
+            }
+            if (spine[c] == null) {
+                spine[c] = new VolunteerPreference[1 << CHUNK_SHIFT];
+                chunkEpoch[c] = epoch;
+            } else if (chunkEpoch[c] != epoch) {
+                spine[c] = spine[c].clone();
+                chunkEpoch[c] = epoch;
+            }
+            spine[c][pos & CHUNK_MASK] = vp;
+
+            if (known == null) {
+                index.put(vp.volunteerId(), pos);
+                size++;
+            }
+            return ++version;
+        }
+
+        synchronized PreferenceSnapshot snapshot() {
+            spineShared = true;
+            epoch++;
+            return new PreferenceSnapshot(spine, size, version);
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,13 @@ import org.springframework.stereotype.Component;
 import org.volunteer.server.model.ServiceMeta;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Service catalogs per event. Events without a catalog of their own offer the built-in
+ * default catalog, so the default event needs no setup. Thread-safe.
+ */
 @Component
 public class ServiceStorage {
 
@@ -21,7 +27,23 @@ public class ServiceStorage {
         new ServiceMeta("svc-info",      "Info-desk", "General information point",      2)
     );
 
-    public List<ServiceMeta> findAll() { 
-        return services; 
+    private final ConcurrentMap<String, List<ServiceMeta>> catalogs = new ConcurrentHashMap<>();
+
+    /**
+     * @param eventId event whose catalog to return
+     * @return the event's services, or the default catalog if none was set
+     */
+    public List<ServiceMeta> findAll(String eventId) {
+        return catalogs.getOrDefault(eventId, services);
+    }
+
+    /**
+     * Sets the services an event offers, replacing any previous catalog.
+     *
+     * @param eventId event to configure
+     * @param catalog services of the event; copied
+     */
+    public void replace(String eventId, List<ServiceMeta> catalog) {
+        catalogs.put(eventId, List.copyOf(catalog));
     }
-} 
\ No newline at end of file
+}
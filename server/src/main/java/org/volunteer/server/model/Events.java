@@ -0,0 +1,33 @@
+package org.volunteer.server.model;
+
+import java.util.regex.Pattern;
+
+/**
+ * Identifiers shared by everything that is scoped to an event.
+ * <p>
+ * Catalogs, preferences, optimisation runs and WebSocket broadcasts are kept apart per
+ * event ID. Clients that know nothing about events (the legacy Swing client and its
+ * fixed endpoints) all belong to {@link #DEFAULT_EVENT}. Event IDs come from request
+ * paths and every new one allocates state, so they are restricted to {@link #ID_PATTERN}.
+ */
+public final class Events {
+
+    /** Event of clients that use the endpoints without an event ID. */
+    public static final String DEFAULT_EVENT = "default";
+
+    /** Letters, digits, dots, underscores and hyphens, at most 64 characters. */
+    public static final String ID_PATTERN = "[A-Za-z0-9._-]{1,64}";
+
+    private static final Pattern ID = Pattern.compile(ID_PATTERN);
+
+    private Events() {
+    }
+
+    /**
+     * @param eventId candidate event ID, e.g. taken from a request path
+     * @return whether it matches {@link #ID_PATTERN}
+     */
+    public static boolean isValidId(String eventId) {
+        return eventId != null && ID.matcher(eventId).matches();
+    }
+}
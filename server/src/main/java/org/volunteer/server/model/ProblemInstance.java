@@ -1,13 +1,118 @@
 // Path: src/main/java/org/volunteer/server/ga/ProblemInstance.java
 package org.volunteer.server.model;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
 
-/** Immutable snapshot of the optimisation problem at a single point in time. */
+/**
+ * Immutable snapshot of the optimisation problem at a single point in time.
+ * <p>
+ * Besides the source preferences and catalog, the instance carries a precompiled
+ * flat cost table ({@code costs[v * serviceCount + s]}) and a capacity array so
+ * fitness evaluation needs nothing but primitive array indexing, plus each volunteer's
+ * ranked services as catalog indices for preference-aware operators. The ranked services
+ * double as the volunteer's gene domain: random operators sample from them instead of the
+ * whole catalog, see {@link #randomService}. The arrays are
+ * shared and must be treated as read-only.
+ */
 public record ProblemInstance(
         List<VolunteerPreference> volunteers,
         List<ServiceMeta> services,
         Map<String, Integer> serviceIndex,         // serviceId → position in list
-        int preferencePenalty                      // constant 10 × Ns²
-) {} 
\ No newline at end of file
+        int preferencePenalty,                     // constant 10 × Ns²
+        int[] costs,                               // volunteer × service cost, row-major
+        int[] capacities,                          // service index → maxCapacity
+        int[][] rankedServices                     // volunteer → catalog indices in rank order
+) {
+
+    /**
+     * Builds an instance and precompiles its cost table and capacity array.
+     * <p>
+     * A volunteer's cost for a ranked service is rank²; any other service costs
+     * {@code preferencePenalty × Ns²}, where Ns is the length of the volunteer's list.
+     * Ranked IDs missing from the catalog are ignored; for duplicates the best rank wins.
+     *
+     * @param volunteers ordered preference snapshot (gene order)
+     * @param services ordered service catalog (gene values)
+     * @param preferencePenalty multiplier applied to unranked assignments
+     * @return fully initialised problem instance
+     */
+    public static ProblemInstance of(List<VolunteerPreference> volunteers,
+                                     List<ServiceMeta> services,
+                                     int preferencePenalty) {
+        int s = services.size();
+        Map<String, Integer> svcIndex = new HashMap<>();
+        int[] capacities = new int[s];
+        for (int i = 0; i < s; i++) {
+            svcIndex.put(services.get(i).id(), i);
+            capacities[i] = services.get(i).maxCapacity();
+        }
+
+        int[] costs = new int[volunteers.size() * s];
+        int[][] ranked = new int[volunteers.size()][];
+        for (int v = 0; v < volunteers.size(); v++) {
+            List<String> prefs = volunteers.get(v).rankedServiceIds();
+            int row = v * s;
+            int ns = prefs.size();
+            Arrays.fill(costs, row, row + s, preferencePenalty * ns * ns);
+
+            // Walk backwards so the first occurrence of a duplicate ID wins
+            for (int rank = ns - 1; rank >= 0; rank--) {
+                Integer idx = svcIndex.get(prefs.get(rank));
+                if (idx != null) costs[row + idx] = rank * rank;
+            }
+
+            ranked[v] = prefs.stream()
+                    .map(svcIndex::get)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        return new ProblemInstance(volunteers, services, Map.copyOf(svcIndex),
+                preferencePenalty, costs, capacities, ranked);
+    }
+
+    /** @return number of volunteers, i.e. the chromosome length */
+    public int volunteerCount() {
+        return volunteers.size();
+    }
+
+    /** @return number of services, i.e. the gene value range */
+    public int serviceCount() {
+        return capacities.length;
+    }
+
+    /**
+     * Samples a service from a volunteer's gene domain. Sampling from ranked services
+     * shrinks the space random operators explore from S^V towards (list length)^V; the
+     * escape keeps every service reachable.
+     *
+     * @param volunteer volunteer index
+     * @param escapeRate probability of sampling the whole catalog instead [0.0-1.0]
+     * @param rng source of randomness
+     * @return one of the volunteer's ranked services, or any service on escape or if
+     *         the volunteer ranked none
+     */
+    public int randomService(int volunteer, double escapeRate, RandomGenerator rng) {
+        int[] ranked = rankedServices[volunteer];
+        if (ranked.length == 0 || escapeRate > 0 && rng.nextDouble() < escapeRate) {
+            return rng.nextInt(capacities.length);
+        }
+        return ranked[rng.nextInt(ranked.length)];
+    }
+
+    /**
+     * @param volunteer volunteer index
+     * @param service service index
+     * @return precompiled cost of assigning the volunteer to the service
+     */
+    public int cost(int volunteer, int service) {
+        return costs[volunteer * capacities.length + service];
+    }
+}
@@ -1,10 +1,12 @@
 package org.volunteer.server.model;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 
 /** Immutable definition of a service slot exposed to volunteers. */
 public record ServiceMeta(
-        String id,
+        @NotBlank String id,
         String name,
         String description,
-        int maxCapacity
-) {}
\ No newline at end of file
+        @Positive int maxCapacity
+) {}
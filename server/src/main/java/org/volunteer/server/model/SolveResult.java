@@ -0,0 +1,43 @@
+package org.volunteer.server.model;
+
+/**
+ * Outcome of a single solver run.
+ *
+ * @param genes service index per volunteer, in snapshot order
+ * @param fitness total cost of {@code genes}; lower is better
+ * @param termination why the run stopped; null for intermediate results of a running solve
+ * @param generations generations evolved (per island); 0 for non-evolutionary solvers
+ * @param elapsedMillis wall-clock duration of the run
+ * @param population genes of every member of the final population, so an interrupted
+ *                   run can be resumed; null if not kept
+ */
+public record SolveResult(
+        int[] genes,
+        double fitness,
+        Termination termination,
+        long generations,
+        long elapsedMillis,
+        int[][] population
+) {
+
+    /** Result without a population checkpoint. */
+    public SolveResult(int[] genes, double fitness, Termination termination, long generations, long elapsedMillis) {
+        this(genes, fitness, termination, generations, elapsedMillis, null);
+    }
+
+    /** Stopping condition that ended a run. */
+    public enum Termination {
+        /** Configured generation cap reached. */
+        GENERATION_CAP,
+        /** Wall-clock time budget exhausted. */
+        DEADLINE,
+        /** Best fitness did not improve for the configured number of generations. */
+        STAGNATION,
+        /** Best fitness reached the configured target. */
+        TARGET_FITNESS,
+        /** Exact solver proved the result optimal. */
+        OPTIMAL,
+        /** Run was interrupted; result is the best found so far. */
+        INTERRUPTED
+    }
+}
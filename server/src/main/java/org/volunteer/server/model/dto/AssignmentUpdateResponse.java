@@ -3,5 +3,11 @@ package org.volunteer.server.model.dto;
 import java.util.List;
 
  
-/** Broadcast body pushed to all WebSocket subscribers. */
-public record AssignmentUpdateResponse(List<AssignmentDto> assignments) { }
+/**
+ * Broadcast body pushed to all WebSocket subscribers.
+ *
+ * @param assignments one entry per volunteer
+ * @param provisional true for an intermediate result of a still running optimisation,
+ *                    false for the final result of a run
+ */
+public record AssignmentUpdateResponse(List<AssignmentDto> assignments, boolean provisional) { }
@@ -2,65 +2,165 @@ package org.volunteer.server.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.volunteer.server.data.PreferenceSnapshot;
 import org.volunteer.server.data.PreferenceStorage;
 import org.volunteer.server.data.ServiceStorage;
 import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.SolveResult;
+import org.volunteer.server.model.SolveResult.Termination;
 import org.volunteer.server.model.VolunteerPreference;
 import org.volunteer.server.model.dto.AssignmentDto;
 import org.volunteer.server.model.dto.AssignmentUpdateResponse;
+import org.volunteer.server.util.PopulationArena;
+import org.volunteer.server.util.PublishedAssignment;
 import org.volunteer.server.web.websocket.PlainAssignmentHandler;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Coordinates volunteer assignment optimization using genetic algorithms.
  * <p>
  * Automatically triggers on preference changes and broadcasts optimized assignments
- * via WebSocket. Requires at least 3 preferences to initiate optimization. All
- * operations are asynchronous and non-blocking.
+ * via WebSocket to the clients of the same event. Requires at least 3 preferences in
+ * an event to initiate optimization. All operations are asynchronous and non-blocking.
+ * Updates are handled in two tiers: the fast tier places the changed volunteer into the
+ * event's last published assignment right away (see {@link PublishedAssignment}) and
+ * broadcasts it as provisional, while the full optimization runs in the background and
+ * publishes its improved result when it finishes.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class AssignmentService {
 
     private final PreferenceStorage preferenceService;
     private final GeneticAlgorithmManager geneticAlgorithmManager;
     private final ServiceStorage catalog;
     private final PlainAssignmentHandler plainWs;
+    private final boolean fastTier;
+    private final int fastTierDepth;
+    private final int fastTierBudget;
+
+    /** Last published assignment per event ID. */
+    private final ConcurrentMap<String, PublishedAssignment> published = new ConcurrentHashMap<>();
+
+    /**
+     * @param preferenceService preference store
+     * @param geneticAlgorithmManager runs full optimizations
+     * @param catalog service catalogs
+     * @param plainWs WebSocket broadcaster
+     * @param fastTier whether updates are placed into the published assignment at once
+     * @param fastTierDepth most services an ejection chain passes through
+     * @param fastTierBudget most occupants inspected per fast placement
+     */
+    public AssignmentService(PreferenceStorage preferenceService,
+                             GeneticAlgorithmManager geneticAlgorithmManager,
+                             ServiceStorage catalog,
+                             PlainAssignmentHandler plainWs,
+                             @Value("${application.settings.fast-tier.enabled:false}") boolean fastTier,
+                             @Value("${application.settings.fast-tier.max-depth:3}") int fastTierDepth,
+                             @Value("${application.settings.fast-tier.budget:1000}") int fastTierBudget) {
+        this.preferenceService = preferenceService;
+        this.geneticAlgorithmManager = geneticAlgorithmManager;
+        this.catalog = catalog;
+        this.plainWs = plainWs;
+        this.fastTier = fastTier;
+        this.fastTierDepth = fastTierDepth;
+        this.fastTierBudget = fastTierBudget;
+    }
+
+    /**
+     * Fast tier: places a changed or new volunteer into the event's last published
+     * assignment and broadcasts the result as provisional. Does nothing before the
+     * event's first full result or after its catalog changed.
+     *
+     * @param eventId event whose preferences changed
+     * @param preference the volunteer's saved preferences
+     */
+    public void placeImmediately(String eventId, VolunteerPreference preference) {
+        if (!fastTier) return;
+        PublishedAssignment assignment = published(eventId);
+        long start = System.nanoTime();
+        if (!assignment.place(preference, catalog.findAll(eventId))) return;
+        AssignmentUpdateResponse response = toResponse(assignment, true);
+        log.info("Fast tier placed {} in event {} in {} µs",
+                preference.volunteerId(), eventId, (System.nanoTime() - start) / 1000);
+
+        plainWs.broadcast(eventId, response);
+    }
 
     /**
-     * Initiates optimization workflow when preferences change.
+     * Initiates optimization workflow when an event's preferences change.
      * <p>
+     * Bursts of changes are coalesced by {@link GeneticAlgorithmManager#schedule}, and
+     * the run that eventually starts optimises the preferences current at that time.
+     *
+     * @param eventId event whose preferences changed
+     */
+    public void startOptimisation(String eventId) {
+        geneticAlgorithmManager.schedule(eventId, () -> optimiseLatest(eventId));
+    }
+
+    /**
      * Automatic trigger that requires minimum 3 preferences to start. Optimizes
-     * asynchronously and broadcasts results through WebSocket upon completion.
+     * asynchronously, pushes improving intermediate results as rate-limited
+     * provisional broadcasts and the final result upon completion. Every broadcast
+     * result is published first, so fast-tier placements build on it.
+     */
+    private void optimiseLatest(String eventId) {
+        PreferenceSnapshot snapshot = preferenceService.snapshot(eventId);
+        if (snapshot.size() < PopulationArena.MIN_VOLUNTEERS) return;  // Minimum viable population threshold
+
+        List<ServiceMeta> services = catalog.findAll(eventId);
+        PublishedAssignment assignment = published(eventId);
+        geneticAlgorithmManager.solveAsync(eventId, snapshot, services,
+                        progress -> plainWs.broadcastProvisional(eventId, () -> {
+                            assignment.publish(snapshot, services, progress.genes());
+                            return toResponse(assignment, true);
+                        }))
+                .thenAccept(result -> handleResult(eventId, assignment, snapshot, services, result));
+    }
+
+    /**
+     * Publishes solver results and broadcasts the resulting assignments. A run cancelled
+     * by a newer request hands back its best assignment so far, which is broadcast as
+     * provisional since the newer run will publish the final one.
+     *
+     * @param eventId event the snapshot belongs to
+     * @param assignment the event's published assignment
+     * @param snapshot preferences used for optimization (preserves order consistency)
+     * @param services catalog used for optimization
+     * @param result optimized service indices and run statistics from the solver
      */
-    public void startOptimisation() {
-        List<VolunteerPreference> snapshot = preferenceService.orderedSnapshot();
-        if (snapshot.size() < 3) return;  // Minimum viable population threshold
+    private void handleResult(String eventId, PublishedAssignment assignment, PreferenceSnapshot snapshot,
+                              List<ServiceMeta> services, SolveResult result) {
+        log.info("Optimisation of event {} v{} finished: cost {}, stopped by {} after {} generations in {} ms",
+                eventId, snapshot.version(), result.fitness(), result.termination(), result.generations(),
+                result.elapsedMillis());
+
+        assignment.publish(snapshot, services, result.genes());
+        plainWs.broadcast(eventId, toResponse(assignment, result.termination() == Termination.INTERRUPTED));
+    }
 
-        geneticAlgorithmManager.solveAsync(snapshot, catalog.findAll())
-                .thenAccept(genes -> handleResult(snapshot, genes));
+    private PublishedAssignment published(String eventId) {
+        return published.computeIfAbsent(eventId, id -> new PublishedAssignment(
+                GeneticAlgorithmManager.PREFERENCE_PENALTY, fastTierDepth, fastTierBudget));
     }
 
     /**
-     * Transforms genetic algorithm results into broadcast-ready assignments.
+     * Maps the published assignment onto broadcast DTOs in volunteer ID order.
      *
-     * @param vpList snapshot used for optimization (preserves order consistency)
-     * @param genes optimized service indices from genetic algorithm
+     * @param assignment published assignment of the event
+     * @param provisional whether the assignment is an intermediate result
+     * @return broadcast payload
      */
-    private void handleResult(List<VolunteerPreference> vpList, int[] genes) {
-        List<ServiceMeta> services = catalog.findAll();
-        List<AssignmentDto> out = new ArrayList<>(genes.length);
-
-        for (int i = 0; i < genes.length; i++) {
-            VolunteerPreference vp = vpList.get(i);
-            ServiceMeta svc = services.get(genes[i]);
-            out.add(new AssignmentDto(vp.volunteerId(),
-                    svc));
-        }
-
-        plainWs.broadcast(new AssignmentUpdateResponse(out));
+    private AssignmentUpdateResponse toResponse(PublishedAssignment assignment, boolean provisional) {
+        List<AssignmentDto> out = new ArrayList<>();
+        assignment.assignments().forEach((volunteerId, svc) -> out.add(new AssignmentDto(volunteerId, svc)));
+        return new AssignmentUpdateResponse(out, provisional);
     }
-}
\ No newline at end of file
+}
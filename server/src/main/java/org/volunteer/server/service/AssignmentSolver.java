@@ -0,0 +1,76 @@
+package org.volunteer.server.service;
+
+import java.util.function.Consumer;
+
+import org.volunteer.server.model.ProblemInstance;
+import org.volunteer.server.model.SolveResult;
+
+/**
+ * Pluggable optimisation engine for volunteer-service assignment.
+ * <p>
+ * Implementations are Spring beans; {@link GeneticAlgorithmManager} picks the one whose
+ * {@link #name()} matches {@code application.settings.solver}. Solvers receive an
+ * immutable {@link ProblemInstance} and must minimise the cost defined by its
+ * precompiled tables.
+ */
+public interface AssignmentSolver {
+
+    /** @return identifier used to select this solver in application properties */
+    String name();
+
+    /**
+     * Computes an assignment for the given snapshot.
+     *
+     * @param inst problem constraints and preferences
+     * @return assignment in snapshot order, its cost and why the run stopped
+     */
+    SolveResult solve(ProblemInstance inst);
+
+    /**
+     * Computes an assignment, optionally starting from a known good one.
+     * <p>
+     * Solvers that cannot exploit a warm start ignore it.
+     *
+     * @param inst problem constraints and preferences
+     * @param warmStart previous best assignment remapped onto this snapshot, or null
+     * @return assignment in snapshot order, its cost and why the run stopped
+     */
+    default SolveResult solve(ProblemInstance inst, int[] warmStart) {
+        return solve(inst);
+    }
+
+    /**
+     * Computes an assignment while publishing improving intermediate solutions.
+     * <p>
+     * {@code progress} is invoked synchronously on the solving thread with results whose
+     * termination is null. Their gene arrays may be reused by the solver afterwards, so
+     * listeners must copy anything they keep. Solvers without intermediate solutions
+     * ignore the listener.
+     *
+     * @param inst problem constraints and preferences
+     * @param warmStart previous best assignment remapped onto this snapshot, or null
+     * @param progress listener for improving intermediate results
+     * @return assignment in snapshot order, its cost and why the run stopped
+     */
+    default SolveResult solve(ProblemInstance inst, int[] warmStart, Consumer<SolveResult> progress) {
+        return solve(inst, warmStart);
+    }
+
+    /**
+     * Computes an assignment, resuming from the population of an interrupted run.
+     * <p>
+     * Population-based solvers start from the resumed members and return their own
+     * population in {@link SolveResult#population()} when interrupted; other solvers
+     * ignore {@code resumed}.
+     *
+     * @param inst problem constraints and preferences
+     * @param warmStart previous best assignment remapped onto this snapshot, or null
+     * @param resumed population checkpoint remapped onto this snapshot, or null
+     * @param progress listener for improving intermediate results
+     * @return assignment in snapshot order, its cost and why the run stopped
+     */
+    default SolveResult solve(ProblemInstance inst, int[] warmStart, int[][] resumed,
+                              Consumer<SolveResult> progress) {
+        return solve(inst, warmStart, progress);
+    }
+}
\ No newline at end of file
@@ -1,10 +1,16 @@
 package org.volunteer.server.service;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 import org.volunteer.server.data.PreferenceStorage;
 import org.volunteer.server.data.ServiceStorage;
+import org.volunteer.server.model.ServiceMeta;
 import org.volunteer.server.model.VolunteerPreference;
 import org.volunteer.server.model.dto.ClientInitResponse;
 import org.volunteer.server.model.dto.PreferenceUpdateRequest;
@@ -21,13 +27,13 @@ public class ClientService
     private final PreferenceStorage preferenceStorage;
     private final AssignmentService assignmentService;
 
-    public ClientInitResponse initializeClient()
+    public ClientInitResponse initializeClient(String eventId)
     {
-        log.info("Client initalize request received");
+        log.info("Client initalize request received for event {}", eventId);
 
         ClientInitResponse response = ClientInitResponse.builder()
             .clientId(UUID.randomUUID().toString())
-            .services(serviceStorage.findAll())
+            .services(serviceStorage.findAll(eventId))
             .build();
 
         log.info("Initialized client with id : {}", response.clientId());
@@ -35,17 +41,34 @@ public class ClientService
         return response;
     }
 
-    public void updatePreference(PreferenceUpdateRequest request)
+    public void updatePreference(String eventId, PreferenceUpdateRequest request)
     {
-        log.info("Update preference request received");
+        log.info("Update preference request received for event {}", eventId);
 
         VolunteerPreference preference = new VolunteerPreference(
             request.clientId(), request.preferences());
 
-        preferenceStorage.save(preference);
+        preferenceStorage.save(eventId, preference);
 
         log.info("Updated preference : {}", preference);
-        
-        assignmentService.startOptimisation();
+
+        assignmentService.placeImmediately(eventId, preference);
+        assignmentService.startOptimisation(eventId);
+    }
+
+    public void replaceCatalog(String eventId, List<ServiceMeta> services)
+    {
+        log.info("Replacing catalog of event {} with {} services", eventId, services.size());
+
+        Set<String> ids = new HashSet<>();
+        for (ServiceMeta service : services) {
+            if (!ids.add(service.id())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate service id: " + service.id());
+            }
+        }
+
+        serviceStorage.replace(eventId, services);
+
+        assignmentService.startOptimisation(eventId);
     }
 }
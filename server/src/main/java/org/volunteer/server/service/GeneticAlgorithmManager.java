@@ -1,81 +1,407 @@
 package org.volunteer.server.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.volunteer.server.model.ProblemInstance;
 import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.SolveResult;
 import org.volunteer.server.model.VolunteerPreference;
+import org.volunteer.server.model.SolveResult.Termination;
+import org.volunteer.server.util.FitnessCalculator;
+import org.volunteer.server.util.ProblemDecomposition;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 /**
- * Manages genetic algorithm optimization runs with concurrency control.
+ * Manages optimization runs of every event.
  * <p>
- * Executes GA tasks asynchronously using a dedicated executor service. Ensures
- * only one optimization runs at a time by canceling previous tasks on new requests.
- * Results are delivered via CompletableFuture for asynchronous consumption.
+ * When and where runs execute is decided by the {@link RunScheduler}: at most one run
+ * per event at a time, a new request interrupting the previous one, bursts of requests
+ * debounced and events sharing the solver workers fairly. This class supplies what a run
+ * does. Cancellation is cooperative: the solver stops at its next generation boundary and
+ * hands back its population, which the next run resumes from after remapping it onto
+ * the new snapshot, so a cancelled run frees the worker at once and its work is kept.
+ * Under sustained load the run a debounced request replaces therefore still hands back
+ * its best assignment so far, instead of every update cancelling a run that has barely
+ * begun. The best assignment and checkpoint of an event are dropped together with its
+ * scheduling lane once the event has been idle.
+ * The engine is the {@link AssignmentSolver} named by {@code application.settings.solver}
+ * (genetic algorithm by default). When enabled, instances whose preference graph splits
+ * into independent components are solved as several smaller problems in parallel on the
+ * GA fork-join pool and merged, see {@link ProblemDecomposition}. Results are delivered
+ * via CompletableFuture for asynchronous consumption.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class GeneticAlgorithmManager {
 
-    private final ExecutorService executor;
-    private final GeneticAlgorithmService geneticAlgorithmService;
+    /** Fixed preference penalty weight of every instance. */
+    static final int PREFERENCE_PENALTY = 10;
+
+    private final ForkJoinPool pool;
+    private final AssignmentSolver solver;
+    private final boolean decompose;
+    private final RunScheduler scheduler;
+
+    /** Results carried from one run of an event to the next, per event ID. */
+    private final ConcurrentMap<String, History> histories = new ConcurrentHashMap<>();
 
     /**
-     * Tracks the active GA task's execution handle. Volatile ensures cross-thread
-     * visibility of state changes. Null when no active task.
+     * @param pool fork-join pool independent parts of an instance are solved on
+     * @param solvers all registered assignment engines
+     * @param solverName name of the engine to use
+     * @param decompose whether to split instances into independent components
+     * @param scheduler decides when and on which worker runs execute
+     * @throws IllegalStateException if no registered solver has the configured name
      */
-    private volatile Future<?> currentTask;
+    public GeneticAlgorithmManager(ForkJoinPool pool,
+                                   List<AssignmentSolver> solvers,
+                                   @Value("${application.settings.solver:genetic}") String solverName,
+                                   @Value("${application.settings.decomposition.enabled:false}") boolean decompose,
+                                   RunScheduler scheduler) {
+        this.pool = pool;
+        this.decompose = decompose;
+        this.scheduler = scheduler;
+        this.solver = solvers.stream()
+                .filter(s -> s.name().equals(solverName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown solver: " + solverName));
+        scheduler.onEvict(histories::remove);
+        log.info("Using {} assignment solver", solverName);
+    }
 
     /**
-     * Initiates a new GA optimization, canceling any in-progress run.
+     * Requests an optimisation of an event, coalescing bursts of requests into a single
+     * run, see {@link RunScheduler#schedule}.
+     *
+     * @param eventId event whose data changed
+     * @param launch reads the event's latest data and calls {@link #solveAsync}
+     */
+    public void schedule(String eventId, Runnable launch) {
+        scheduler.schedule(eventId, launch);
+    }
+
+    /**
+     * Queues a new optimization of an event, canceling its in-progress run.
      * <p>
-     * Atomic operation due to method synchronization. Previous task receives
-     * thread interruption if still running. Optimization penalty weights and
-     * service indexing are configured internally.
+     * The previous run of the event receives thread interruption if still running, and
+     * a run of the event still waiting for a worker is replaced, its future cancelled.
+     * Optimization penalty weights, service indexing and the volunteer × service cost
+     * table are built internally, on the worker once the run starts, so callers such as
+     * the scheduler thread return at once. The event's previous best assignment, remapped
+     * onto this snapshot, is passed as warm start.
      *
-     * @param prefs current volunteer preferences snapshot
+     * @param eventId event the snapshot belongs to
+     * @param prefs current volunteer preferences snapshot; immutable, used without copying
      * @param services available services for assignment
-     * @return CompletableFuture that completes with optimized gene sequence or
+     * @param progress receives improving intermediate results of this run while it is
+     *                 still the latest one; called on a solver thread, one call at a time
+     * @return CompletableFuture that completes with the solver result or
      *         fails with execution exception
      */
-    public synchronized CompletableFuture<int[]> solveAsync(Collection<VolunteerPreference> prefs,
-                                                            List<ServiceMeta> services) {
-        // Cancel previous optimization if active
-        if (currentTask != null && !currentTask.isDone()) {
-            currentTask.cancel(true);
+    public CompletableFuture<SolveResult> solveAsync(String eventId,
+                                                     List<VolunteerPreference> prefs,
+                                                     List<ServiceMeta> services,
+                                                     Consumer<SolveResult> progress) {
+        return scheduler.submit(eventId, latest -> {
+            // Build problem instance with fixed penalty weight; cost tables are precompiled once here
+            ProblemInstance instance = ProblemInstance.of(prefs, services, PREFERENCE_PENALTY);
+            // The event's runs are serial, so its history is not evicted or written concurrently
+            History history = histories.computeIfAbsent(eventId, id -> new History());
+            // Warm start and checkpoint are taken once the event's previous run has stopped
+            SolveResult result = solve(instance, warmStart(history, instance), resume(history, instance), r -> {
+                if (latest.getAsBoolean()) progress.accept(r);
+            });
+            remember(history, instance, result);
+            return result;
+        });
+    }
+
+    /** Solves the instance whole, or part by part if it decomposes. */
+    private SolveResult solve(ProblemInstance inst, int[] warmStart, int[][] resumed,
+                              Consumer<SolveResult> progress) throws InterruptedException {
+        if (decompose) {
+            ProblemDecomposition split = ProblemDecomposition.of(inst, pool.getParallelism());
+            if (split.decomposed()) {
+                SolveResult result = solveParts(inst, split, warmStart, resumed, progress);
+                if (result != null) return result;
+            }
+        }
+        return solver.solve(inst, warmStart, resumed, progress);
+    }
+
+    /**
+     * Solves every part concurrently and merges the results. When the calling thread is
+     * interrupted every part is interrupted in turn, and their best assignments and
+     * populations so far are merged into an interrupted result of the whole instance.
+     *
+     * @return merged result, or null if a part could not seat its own volunteers and the
+     *         instance has to be solved whole
+     * @throws InterruptedException if interrupted before every part had something to hand back
+     */
+    private SolveResult solveParts(ProblemInstance inst, ProblemDecomposition split, int[] warmStart,
+                                   int[][] resumed, Consumer<SolveResult> progress) throws InterruptedException {
+        List<ProblemDecomposition.Part> parts = split.parts();
+        log.info("Solving {} volunteers as {} independent parts", inst.volunteerCount(), parts.size());
+        long start = System.currentTimeMillis();
+        PartProgress merged = new PartProgress(inst, split, start, progress);
+        PartThreads threads = new PartThreads();
+
+        List<ForkJoinTask<SolveResult>> futures = new ArrayList<>(parts.size());
+        for (int p = 0; p < parts.size(); p++) {
+            ProblemDecomposition.Part part = parts.get(p);
+            int index = p;
+            int[][] partResumed = resumed == null ? null
+                    : Arrays.stream(resumed).map(part::restrict).toArray(int[][]::new);
+            futures.add(pool.submit(() -> threads.run(() -> solver.solve(
+                    part.inst(), part.restrict(warmStart), partResumed, r -> merged.accept(index, r)))));
+        }
+
+        List<int[]> genes = new ArrayList<>(parts.size());
+        Termination termination = null;
+        long generations = 0;
+        try {
+            for (int p = 0; p < parts.size(); p++) {
+                SolveResult r = futures.get(p).get();
+                if (parts.get(p).overflows(r.genes())) {
+                    log.info("Part {} of {} overflows its own services; solving the instance whole",
+                            p + 1, parts.size());
+                    return null;
+                }
+                genes.add(r.genes());
+                if (r.generations() >= generations) {
+                    generations = r.generations();
+                    termination = r.termination();
+                }
+            }
+        } catch (InterruptedException e) {
+            threads.interrupt();
+            futures.forEach(ForkJoinTask::quietlyJoin);
+            SolveResult interrupted = mergeInterrupted(inst, split, futures, warmStart, start);
+            if (interrupted == null) throw e;
+            return interrupted;
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Part solve failed", e.getCause());
+        }
+
+        int[] result = split.merge(genes);
+        return new SolveResult(result, FitnessCalculator.totalCost(result, inst), termination, generations,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Merges the results of interrupted parts, member by member for the populations so
+     * the next run can resume the whole instance. A part that failed before evolving
+     * anything contributes its slice of the warm start.
+     *
+     * @return interrupted result of the whole instance, or null if some part has neither
+     *         a result nor a warm start
+     */
+    private static SolveResult mergeInterrupted(ProblemInstance inst, ProblemDecomposition split,
+                                                List<ForkJoinTask<SolveResult>> futures, int[] warmStart,
+                                                long start) {
+        List<ProblemDecomposition.Part> parts = split.parts();
+        List<int[]> genes = new ArrayList<>(parts.size());
+        List<int[][]> populations = new ArrayList<>(parts.size());
+        long generations = 0;
+        int members = 1;
+        for (int p = 0; p < parts.size(); p++) {
+            ForkJoinTask<SolveResult> f = futures.get(p);
+            SolveResult r = f.isCompletedNormally() ? f.getRawResult() : null;
+            int[] best = r != null ? r.genes() : parts.get(p).restrict(warmStart);
+            if (best == null) return null;
+            int[][] population = r != null && r.population() != null ? r.population() : new int[][] {best};
+            genes.add(best);
+            populations.add(population);
+            members = Math.max(members, population.length);
+            if (r != null) generations = Math.max(generations, r.generations());
         }
 
-        // Configure service lookup index
-        Map<String, Integer> svcIndex = new HashMap<>();
-        for (int i = 0; i < services.size(); i++) {
-            svcIndex.put(services.get(i).id(), i);
+        int[][] population = new int[members][];
+        for (int m = 0; m < members; m++) {
+            List<int[]> member = new ArrayList<>(parts.size());
+            for (int[][] rows : populations) member.add(rows[m % rows.length]);
+            population[m] = split.merge(member);
         }
+        int[] result = split.merge(genes);
+        return new SolveResult(result, FitnessCalculator.totalCost(result, inst), Termination.INTERRUPTED,
+                generations, System.currentTimeMillis() - start, population);
+    }
 
-        // Build problem instance with fixed penalty weight
-        ProblemInstance instance = new ProblemInstance(
-                List.copyOf(prefs),
-                services,
-                svcIndex,
-                10  // Fixed preference penalty weight
-        );
-
-        // Submit new optimization task
-        CompletableFuture<int[]> resultFuture = new CompletableFuture<>();
-        currentTask = executor.submit(() -> {
+    /**
+     * Pool threads currently solving parts of one instance, so that cancelling the
+     * instance interrupts exactly those threads and a part starting afterwards begins
+     * interrupted. Unlike cancelling the part futures this keeps each part's result.
+     */
+    private static final class PartThreads {
+
+        private final Set<Thread> running = new HashSet<>();
+        private boolean interrupted;
+
+        SolveResult run(Callable<SolveResult> part) throws Exception {
+            Thread self = Thread.currentThread();
+            synchronized (this) {
+                if (interrupted) self.interrupt();
+                running.add(self);
+            }
             try {
-                int[] genes = geneticAlgorithmService.run(instance);
-                resultFuture.complete(genes);
-            } catch (Exception ex) {
-                resultFuture.completeExceptionally(ex);
+                return part.call();
+            } finally {
+                synchronized (this) {
+                    running.remove(self);
+                    Thread.interrupted();   // a late interrupt must not hit the pool thread's next task
+                }
             }
-        });
+        }
+
+        synchronized void interrupt() {
+            interrupted = true;
+            running.forEach(Thread::interrupt);
+        }
+    }
+
+    /**
+     * Combines the intermediate results of concurrently solved parts. Once every part
+     * has reported, each improvement of a part publishes the merged assignment.
+     */
+    private static final class PartProgress {
+
+        private final ProblemInstance inst;
+        private final ProblemDecomposition split;
+        private final long start;
+        private final Consumer<SolveResult> progress;
+        private final List<int[]> latest;
+        private final long[] generations;
+        private int reported;
+
+        PartProgress(ProblemInstance inst, ProblemDecomposition split, long start, Consumer<SolveResult> progress) {
+            this.inst = inst;
+            this.split = split;
+            this.start = start;
+            this.progress = progress;
+            this.latest = new ArrayList<>(Collections.nCopies(split.parts().size(), null));
+            this.generations = new long[split.parts().size()];
+        }
+
+        synchronized void accept(int part, SolveResult r) {
+            if (latest.set(part, r.genes().clone()) == null) reported++;
+            generations[part] = r.generations();
+            if (reported < latest.size()) return;
+
+            int[] genes = split.merge(latest);
+            progress.accept(new SolveResult(genes, FitnessCalculator.totalCost(genes, inst), null,
+                    Arrays.stream(generations).max().orElse(0), System.currentTimeMillis() - start));
+        }
+    }
+
+    /**
+     * Remaps the last best assignment onto the instance's volunteer order.
+     * Volunteers without a previous assignment (or whose service vanished) get their
+     * first preference that exists in the catalog.
+     *
+     * @return warm-start genes, or null if nothing has been solved yet
+     */
+    private int[] warmStart(History history, ProblemInstance inst) {
+        Map<String, String> prev = history.lastBest;
+        if (prev.isEmpty()) return null;
+
+        Map<String, Integer> svcIndex = inst.serviceIndex();
+        int[] genes = new int[inst.volunteerCount()];
+        for (int i = 0; i < genes.length; i++) {
+            VolunteerPreference vp = inst.volunteers().get(i);
+            String svcId = prev.get(vp.volunteerId());
+            Integer idx = svcId == null ? null : svcIndex.get(svcId);
+            if (idx == null) idx = firstPreference(vp, svcIndex);
+            genes[i] = idx;
+        }
+        return genes;
+    }
+
+    /**
+     * Remaps the population of the last interrupted run onto the instance's volunteer
+     * and service order the same way {@link #warmStart} remaps the best assignment.
+     *
+     * @return resumed members, or null if the last run was not interrupted
+     */
+    private int[][] resume(History history, ProblemInstance inst) {
+        Checkpoint cp = history.checkpoint;
+        if (cp == null) return null;
+
+        Map<String, Integer> svcIndex = inst.serviceIndex();
+        int[] services = new int[cp.inst().serviceCount()];
+        for (int s = 0; s < services.length; s++) {
+            services[s] = svcIndex.getOrDefault(cp.inst().services().get(s).id(), -1);
+        }
+        Map<String, Integer> previous = new HashMap<>(cp.inst().volunteerCount() * 2);
+        for (int i = 0; i < cp.inst().volunteerCount(); i++) {
+            previous.put(cp.inst().volunteers().get(i).volunteerId(), i);
+        }
+
+        int[][] members = new int[cp.population().length][inst.volunteerCount()];
+        for (int i = 0; i < inst.volunteerCount(); i++) {
+            VolunteerPreference vp = inst.volunteers().get(i);
+            Integer old = previous.get(vp.volunteerId());
+            int fallback = firstPreference(vp, svcIndex);
+            for (int m = 0; m < members.length; m++) {
+                int svc = old == null ? -1 : services[cp.population()[m][old]];
+                members[m][i] = svc >= 0 ? svc : fallback;
+            }
+        }
+        return members;
+    }
+
+    private static int firstPreference(VolunteerPreference vp, Map<String, Integer> svcIndex) {
+        for (String id : vp.rankedServiceIds()) {
+            Integer idx = svcIndex.get(id);
+            if (idx != null) return idx;
+        }
+        return 0;
+    }
+
+    /**
+     * Records a completed result keyed by volunteer and service IDs, and its population
+     * as checkpoint if the run was interrupted.
+     */
+    private void remember(History history, ProblemInstance inst, SolveResult result) {
+        int[] genes = result.genes();
+        Map<String, String> best = new HashMap<>(genes.length * 2);
+        for (int i = 0; i < genes.length; i++) {
+            best.put(inst.volunteers().get(i).volunteerId(), inst.services().get(genes[i]).id());
+        }
+        history.lastBest = best;
+        history.checkpoint = result.population() != null ? new Checkpoint(inst, result.population()) : null;
+    }
+
+    /**
+     * Population of an interrupted run together with the snapshot it was evolved on.
+     *
+     * @param inst snapshot the population's genes refer to
+     * @param population genes of every member
+     */
+    private record Checkpoint(ProblemInstance inst, int[][] population) {
+    }
+
+    /** Results of an event's last run that its next run starts from. */
+    private static final class History {
+
+        /**
+         * Last completed best assignment as volunteer ID → service ID, used to warm-start
+         * the next run. Keyed by ID so it survives reordering between snapshots.
+         */
+        volatile Map<String, String> lastBest = Map.of();
 
-        return resultFuture;
+        /** Population of the last run if it was interrupted; null otherwise. */
+        volatile Checkpoint checkpoint;
     }
-}
\ No newline at end of file
+}
@@ -1,119 +1,392 @@
 package org.volunteer.server.service;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.volunteer.server.model.ProblemInstance;
-import org.volunteer.server.util.Chromosome;
+import org.volunteer.server.model.SolveResult;
+import org.volunteer.server.model.SolveResult.Termination;
+import org.volunteer.server.util.Breeding;
+import org.volunteer.server.util.CapacityRepair;
+import org.volunteer.server.util.Crossover;
+import org.volunteer.server.util.DuplicateCache;
+import org.volunteer.server.util.FitnessEvaluator;
+import org.volunteer.server.util.InitialisationStrategy;
+import org.volunteer.server.util.Island;
+import org.volunteer.server.util.LocalSearch;
+import org.volunteer.server.util.Mutation;
+import org.volunteer.server.util.Operators;
+import org.volunteer.server.util.PopulationArena;
+import org.volunteer.server.util.PopulationInitialiser;
+import org.volunteer.server.util.TerminationPolicy;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Executes genetic algorithm optimization for volunteer-service assignments.
  * <p>
- * Implements a steady-state GA with tournament selection and single-point crossover.
- * Configured through application properties. Not thread-safe - designed for single-threaded
- * execution within the service layer.
+ * Implements a GA with tournament selection and fixed or adaptively chosen crossover
+ * and mutation operators, breeding either one child per generation (steady state) or a
+ * batch of children per generation in parallel (generational or (μ+λ) replacement).
+ * With more than one island configured, sub-populations evolve in parallel on the
+ * shared GA fork-join pool and exchange their elites in a ring every migration
+ * interval. Configured through application properties. A single run is driven by
+ * one calling thread; concurrent runs, e.g. of independent parts of an instance, each
+ * own their islands and share only the pool.
  */
 @Slf4j
 @Service
-public final class GeneticAlgorithmService {
+public final class GeneticAlgorithmService implements AssignmentSolver {
 
     private final int POP_SIZE;
-    private final int MAX_GENERATIONS;
-    private final double MUTATION_RATE;
-    private final Random RNG;
+    private final Operators operators;
+    private final int ISLAND_COUNT;
+    private final int MIGRATION_INTERVAL;
+    private final PopulationInitialiser initialiser;
+    private final CapacityRepair repair;
+    private final LocalSearch localSearch;
+    private final Breeding breeding;
+    private final int DUPLICATE_CACHE_SIZE;
+    private final TerminationPolicy termination;
+    private final long progressIntervalNanos;
+    private final ForkJoinPool pool;
 
     /**
      * Constructs the service with genetic algorithm parameters.
      *
-     * @param popSize number of solutions maintained in population
-     * @param maxGenerations maximum evolution iterations
+     * @param popSize number of solutions maintained in population (per island)
+     * @param maxGenerations generation cap (per island); non-positive means none if a time budget is set
      * @param mutationRate gene mutation probability [0.0-1.0]
+     * @param domainEscape probability that a mutated or random gene ignores the volunteer's ranked services
+     * @param adaptiveOperators choose crossover and mutation operators by adaptive pursuit
+     * @param operatorLearningRate adaptation speed of operator selection [0.0-1.0]
+     * @param operatorMinProbability probability floor of every operator under adaptive selection
+     * @param islandCount number of parallel sub-populations; 1 disables the island model
+     * @param migrationInterval generations between elite migrations
+     * @param warmStartShare fraction of each population seeded from a warm start [0.0-1.0]
+     * @param initStrategies heuristics used for the non-random part of initial populations
+     * @param initRandomShare fraction of each initial population that is uniformly random
+     * @param repairRate probability of moving each child's volunteers out of overfull services; 0 disables
+     * @param memeticRate probability of hill-climbing each child; 0 disables
+     * @param memeticBudget neighbour candidates evaluated per hill-climbing call
+     * @param memeticEliteInterval generations between hill-climbing the island best; 0 disables
+     * @param timeBudgetMillis wall-clock budget per run; non-positive disables it
+     * @param stagnationGenerations generations without improvement before stopping; non-positive disables it
+     * @param targetFitness stop once the best cost is at or below this; negative disables it
+     * @param vectorised evaluate full fitness scans with the Vector API when the JVM supports it
+     * @param breedingScheme steady-state, generational or (μ+λ) replacement
+     * @param batchSize children bred per generation by the batch schemes
+     * @param elites best parents always kept by generational replacement
+     * @param duplicateCacheSize entries of the per-island set of member hashes; 0 disables
+     * @param progressIntervalMillis minimum spacing of intermediate results passed to a progress listener
+     * @param pool fork-join pool the islands evolve on
      */
     public GeneticAlgorithmService(
             @Value("${application.settings.population-size}") int popSize,
             @Value("${application.settings.max-generations}") int maxGenerations,
-            @Value("${application.settings.mutation-rate}") double mutationRate)
+            @Value("${application.settings.mutation-rate}") double mutationRate,
+            @Value("${application.settings.gene-domain.escape-rate:1.0}") double domainEscape,
+            @Value("${application.settings.operators.adaptive:false}") boolean adaptiveOperators,
+            @Value("${application.settings.operators.learning-rate:0.05}") double operatorLearningRate,
+            @Value("${application.settings.operators.min-probability:0.05}") double operatorMinProbability,
+            @Value("${application.settings.islands.count:1}") int islandCount,
+            @Value("${application.settings.islands.migration-interval:50}") int migrationInterval,
+            @Value("${application.settings.warm-start-share:0.2}") double warmStartShare,
+            @Value("${application.settings.init.strategies:}") List<InitialisationStrategy> initStrategies,
+            @Value("${application.settings.init.random-share:1.0}") double initRandomShare,
+            @Value("${application.settings.repair.rate:0}") double repairRate,
+            @Value("${application.settings.memetic.rate:0}") double memeticRate,
+            @Value("${application.settings.memetic.budget:0}") int memeticBudget,
+            @Value("${application.settings.memetic.elite-interval:0}") int memeticEliteInterval,
+            @Value("${application.settings.termination.time-budget-ms:0}") long timeBudgetMillis,
+            @Value("${application.settings.termination.stagnation-generations:0}") long stagnationGenerations,
+            @Value("${application.settings.termination.target-fitness:-1}") double targetFitness,
+            @Value("${application.settings.fitness.vectorised:false}") boolean vectorised,
+            @Value("${application.settings.breeding.scheme:steady-state}") Breeding.Scheme breedingScheme,
+            @Value("${application.settings.breeding.batch-size:1}") int batchSize,
+            @Value("${application.settings.breeding.elites:1}") int elites,
+            @Value("${application.settings.duplicate-cache.size:0}") int duplicateCacheSize,
+            @Value("${application.settings.progress.min-interval-ms:500}") long progressIntervalMillis,
+            ForkJoinPool pool)
     {
         this.POP_SIZE = popSize;
-        this.MAX_GENERATIONS = maxGenerations;
-        this.MUTATION_RATE = mutationRate;
-        this.RNG = new Random();
+        this.operators = new Operators(mutationRate, domainEscape, adaptiveOperators,
+                operatorLearningRate, operatorMinProbability);
+        this.ISLAND_COUNT = Math.max(1, islandCount);
+        this.MIGRATION_INTERVAL = Math.max(1, migrationInterval);
+        FitnessEvaluator evaluator = vectorised ? FitnessEvaluator.vectorOrScalar() : FitnessEvaluator.SCALAR;
+        if (vectorised && evaluator == FitnessEvaluator.SCALAR) {
+            log.warn("Vectorised fitness requested but unavailable (build with -Pvector and start the "
+                    + "JVM with --add-modules jdk.incubator.vector); using scalar evaluation");
+        }
+        this.initialiser = new PopulationInitialiser(initStrategies, initRandomShare, warmStartShare,
+                domainEscape, evaluator);
+        this.repair = repairRate > 0 ? new CapacityRepair(repairRate) : CapacityRepair.DISABLED;
+        this.localSearch = new LocalSearch(memeticRate, memeticBudget, memeticEliteInterval);
+        this.breeding = new Breeding(breedingScheme, batchSize, elites, pool);
+        this.DUPLICATE_CACHE_SIZE = duplicateCacheSize;
+        this.termination = new TerminationPolicy(maxGenerations, timeBudgetMillis,
+                stagnationGenerations, targetFitness);
+        this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, progressIntervalMillis));
+        this.pool = pool;
+    }
+
+    @Override
+    public String name() {
+        return "genetic";
     }
 
     /**
      * Evolves volunteer-service assignments through genetic optimization.
      * <p>
      * Algorithm flow:
-     * 1. Initializes population of random solutions
-     * 2. Iterates through generations using:
+     * 1. Initializes one population per island from warm-start seeds, random
+     *    individuals and preference-aware heuristics
+     * 2. Iterates through generations, each breeding one child or a batch, using:
      *    - Tournament parent selection
-     *    - Single-point crossover
-     *    - Probabilistic mutation
-     *    - Worst-member replacement strategy
+     *    - Crossover and mutation within each volunteer's ranked services, chosen
+     *      per child by adaptive pursuit or fixed to single-point and move
+     *    - Optional repair of capacity overflow
+     *    - Optional memetic hill climbing of children and elites
+     *    - Worst-member, generational or (μ+λ) replacement via an indexed max-heap
+     * 3. Every migration interval, sends each island's best to the next island
+     * 4. Stops on the first termination condition that fires: generation cap,
+     *    time budget, stagnation window or target fitness
      *
      * @param inst problem constraints and preferences
-     * @return optimized service assignment indices
+     * @return global best over all islands and the termination condition that fired
      */
-    public int[] run(ProblemInstance inst) {
-        log.info("Genetic algorithm request received");
+    @Override
+    public SolveResult solve(ProblemInstance inst) {
+        return solve(inst, null);
+    }
 
-        List<Chromosome> pop = initPopulation(inst);
-        Chromosome best = pop.getFirst();
+    /**
+     * Evolves assignments with part of every initial population seeded from
+     * {@code warmStart}, so re-solves after small changes start near the old optimum.
+     *
+     * @param inst problem constraints and preferences
+     * @param warmStart previous best assignment remapped onto this snapshot, or null
+     * @return global best over all islands and the termination condition that fired
+     */
+    @Override
+    public SolveResult solve(ProblemInstance inst, int[] warmStart) {
+        return solve(inst, warmStart, result -> { });
+    }
 
-        for (int g = 0; g < MAX_GENERATIONS; g++) {
-            Chromosome p1 = tournament(pop);
-            Chromosome p2 = tournament(pop);
-            Chromosome child = Chromosome.crossover(p1, p2);
+    /**
+     * Evolves assignments as {@link #solve(ProblemInstance, int[])} does, publishing the
+     * global best to {@code progress} whenever it improves at an epoch boundary, at most
+     * once per progress interval. Improvements within the interval are not copied out;
+     * the next publication carries the best found by then.
+     *
+     * @param inst problem constraints and preferences
+     * @param warmStart previous best assignment remapped onto this snapshot, or null
+     * @param progress listener for improving intermediate results
+     * @return global best over all islands and the termination condition that fired
+     */
+    @Override
+    public SolveResult solve(ProblemInstance inst, int[] warmStart, Consumer<SolveResult> progress) {
+        return solve(inst, warmStart, null, progress);
+    }
 
-            if (RNG.nextDouble() < MUTATION_RATE) {
-                child.mutate(inst.services().size());
-            }
-            child.computeFitness(inst);
+    /**
+     * Evolves assignments as {@link #solve(ProblemInstance, int[], Consumer)} does, with
+     * the islands starting from the population of an interrupted run. Interruption is
+     * honoured at the next generation boundary of every island; the interrupted result
+     * then carries the final population so that the next run can resume from it.
+     *
+     * @param inst problem constraints and preferences
+     * @param warmStart previous best assignment remapped onto this snapshot, or null
+     * @param resumed population checkpoint remapped onto this snapshot, or null; members
+     *                are dealt out to the islands in turn
+     * @param progress listener for improving intermediate results
+     * @return global best over all islands and the termination condition that fired
+     */
+    @Override
+    public SolveResult solve(ProblemInstance inst, int[] warmStart, int[][] resumed,
+                             Consumer<SolveResult> progress) {
+        log.info("Genetic algorithm request received{}", resumed != null ? " (resumed from checkpoint)"
+                : warmStart != null ? " (warm start)" : "");
+        TerminationPolicy.Run run = termination.start();
 
-            // Replace worst population member
-            pop.sort(Collections.reverseOrder());
-            pop.set(0, child);
+        List<Island> islands;
+        try {
+            islands = initIslands(inst, warmStart, resumed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Genetic algorithm cancelled during initialisation");
+        }
 
-            if (child.fitness < best.fitness) best = child;
+        // A single island is checked every generation; islands only between epochs
+        int epochLength = islands.size() == 1 ? 1 : MIGRATION_INTERVAL;
+        long generation = 0;
+        double published = Double.MAX_VALUE;
+        long publishedAt = System.nanoTime() - progressIntervalNanos;
+        Termination reason;
+        try {
+            while (true) {
+                Island best = globalBest(islands);
+                if ((reason = run.check(generation, best.bestFitness())) != null) break;
+                if (best.bestFitness() < published && System.nanoTime() - publishedAt >= progressIntervalNanos) {
+                    published = best.bestFitness();
+                    publishedAt = System.nanoTime();
+                    progress.accept(new SolveResult(best.bestGenes(), published, null, generation,
+                            run.elapsedMillis()));
+                }
+                generation += evolveAll(islands, run.remaining(generation, epochLength), run);
+                if (islands.size() > 1) migrate(islands);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reason = Termination.INTERRUPTED;
         }
 
-        log.info("Finished genetic algorithm");
-        return best.genes;
+        Island best = globalBest(islands);
+        log.info("Finished genetic algorithm on {} island(s): {} after {} generations",
+                islands.size(), reason, generation);
+        logDuplicateStats(islands);
+        logOperatorStats(best);
+        int[][] population = reason == Termination.INTERRUPTED ? population(islands) : null;
+        return new SolveResult(best.bestGenes(), best.bestFitness(), reason, generation, run.elapsedMillis(),
+                population);
     }
 
     /* ---------- helpers ---------- */
 
+    /** Builds and evaluates the initial island populations in parallel. */
+    private List<Island> initIslands(ProblemInstance inst, int[] warmStart, int[][] resumed)
+            throws InterruptedException {
+        if (ISLAND_COUNT == 1) return List.of(newIsland(inst, warmStart, share(resumed, 0)));
+
+        List<Callable<Island>> tasks = new ArrayList<>(ISLAND_COUNT);
+        for (int i = 0; i < ISLAND_COUNT; i++) {
+            List<int[]> members = share(resumed, i);
+            tasks.add(() -> newIsland(inst, warmStart, members));
+        }
+
+        List<Island> islands = new ArrayList<>(ISLAND_COUNT);
+        for (Future<Island> f : pool.invokeAll(tasks)) {
+            islands.add(join(f));
+        }
+        return islands;
+    }
+
+    /** @return every {@code ISLAND_COUNT}-th resumed member starting at {@code island} */
+    private List<int[]> share(int[][] resumed, int island) {
+        if (resumed == null) return List.of();
+        List<int[]> members = new ArrayList<>();
+        for (int m = island; m < resumed.length; m += ISLAND_COUNT) members.add(resumed[m]);
+        return members;
+    }
+
+    /** @return members of every island, island by island */
+    private static int[][] population(List<Island> islands) {
+        return islands.stream().flatMap(island -> Arrays.stream(island.members())).toArray(int[][]::new);
+    }
+
+    private Island newIsland(ProblemInstance inst, int[] warmStart, List<int[]> resumed) {
+        PopulationArena arena = initialiser.create(inst, POP_SIZE, breeding.spareSlots(POP_SIZE), warmStart,
+                resumed);
+        DuplicateCache duplicates = DUPLICATE_CACHE_SIZE > 0
+                ? new DuplicateCache(DUPLICATE_CACHE_SIZE) : DuplicateCache.DISABLED;
+        return new Island(inst, arena, operators, repair, localSearch, breeding, duplicates);
+    }
+
     /**
-     * Generates initial population of random chromosomes sorted by fitness.
-     * @return sorted list of chromosomes (best fitness first)
+     * Evolves every island for one epoch, one fork-join task per island. A lone
+     * island runs on the calling thread. Islands stop early at the run's deadline, and
+     * when the calling thread is interrupted the run is cancelled so that every island
+     * stops at its next generation boundary.
+     *
+     * @return generations evolved by the furthest island
+     * @throws InterruptedException once all islands have stopped after an interruption
      */
-    private List<Chromosome> initPopulation(ProblemInstance inst) {
-        List<Chromosome> pop = new ArrayList<>(POP_SIZE);
-        int v = inst.volunteers().size();
-        int s = inst.services().size();
-
-        for (int i = 0; i < POP_SIZE; i++) {
-            Chromosome ch = new Chromosome(v, s);
-            ch.computeFitness(inst);
-            pop.add(ch);
+    private int evolveAll(List<Island> islands, int generations, TerminationPolicy.Run run)
+            throws InterruptedException {
+        int evolved = 0;
+        if (islands.size() == 1) {
+            evolved = islands.getFirst().evolve(generations, run);
+        } else {
+            List<ForkJoinTask<Integer>> tasks = new ArrayList<>(islands.size());
+            for (Island island : islands) {
+                tasks.add(pool.submit(() -> island.evolve(generations, run)));
+            }
+            try {
+                for (Future<Integer> f : tasks) {
+                    evolved = Math.max(evolved, join(f));
+                }
+            } catch (InterruptedException e) {
+                run.cancel();
+                tasks.forEach(ForkJoinTask::quietlyJoin);
+                throw e;
+            }
         }
-        pop.sort(null);
-        return pop;
+        if (Thread.interrupted()) throw new InterruptedException();
+        return evolved;
     }
 
     /**
-     * Tournament selection between two random population members.
-     * @return chromosome with better (lower) fitness score
+     * Ring migration: island i's elite replaces the worst member of island i+1.
+     * Elites are captured before any island receives a migrant.
      */
-    private Chromosome tournament(List<Chromosome> pop) {
-        Chromosome a = pop.get(RNG.nextInt(pop.size()));
-        Chromosome b = pop.get(RNG.nextInt(pop.size()));
-        return a.fitness < b.fitness ? a : b;
+    private void migrate(List<Island> islands) {
+        List<int[]> elites = islands.stream().map(Island::bestGenes).toList();
+        for (int i = 0; i < islands.size(); i++) {
+            islands.get((i + 1) % islands.size()).immigrate(elites.get(i));
+        }
+    }
+
+    /** @return island holding the best member of the run */
+    private Island globalBest(List<Island> islands) {
+        Island best = islands.getFirst();
+        for (Island island : islands) {
+            if (island.bestFitness() < best.bestFitness()) best = island;
+        }
+        return best;
+    }
+
+    private void logDuplicateStats(List<Island> islands) {
+        if (DUPLICATE_CACHE_SIZE <= 0) return;
+        long lookups = 0;
+        long hits = 0;
+        for (Island island : islands) {
+            lookups += island.duplicates().lookups();
+            hits += island.duplicates().hits();
+        }
+        log.info("Duplicate cache: {} of {} lookups hit ({}%)",
+                hits, lookups, lookups == 0 ? 0 : Math.round(100.0 * hits / lookups));
+    }
+
+    private void logOperatorStats(Island island) {
+        if (!operators.adaptive()) return;
+        StringBuilder sb = new StringBuilder();
+        for (Crossover c : Crossover.values()) {
+            sb.append(String.format(" %s=%.2f", c, island.probability(c)));
+        }
+        sb.append(" |");
+        for (Mutation m : Mutation.values()) {
+            sb.append(String.format(" %s=%.2f", m, island.probability(m)));
+        }
+        log.info("Operator probabilities on the best island:{}", sb);
+    }
+
+    private static <T> T join(Future<T> f) throws InterruptedException {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island task failed", e.getCause());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,342 @@
+package org.volunteer.server.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.volunteer.server.model.SolveResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Decides when and on which worker optimisation runs execute, one lane per event.
+ * <p>
+ * At most one run per event executes at a time: a new run for an event interrupts its
+ * in-progress run and replaces any run still queued for it. Runs of different events
+ * share a bounded number of solver workers (one per core by default). When more events
+ * have work queued than workers are free, lanes are served by deficit round-robin: each
+ * run is charged its wall-clock time against its lane, and a lane in debt is topped up
+ * by its weighted quantum and sent to the back of the queue. A large event re-solving
+ * back to back thus gets its weighted share of the workers, while the cheap re-solves of
+ * small events start as soon as a worker frees up instead of waiting behind it.
+ * Requests made through {@link #schedule} are debounced per event: a burst of updates is
+ * coalesced into one run that starts once no update has arrived for the quiet period,
+ * or at the latest when the oldest unserved update reaches the maximum staleness.
+ * Lanes are created on first use and evicted once their event has had no request and no
+ * run for the idle period, so event IDs that stop being used cost no memory; listeners
+ * registered with {@link #onEvict} drop their per-event state at the same time.
+ */
+@Slf4j
+@Component
+public class RunScheduler {
+
+    /** Work of one run, executed on a solver worker. */
+    @FunctionalInterface
+    interface Run {
+
+        /**
+         * @param latest reports whether the run is still the latest one submitted for its event
+         * @return result the run's future completes with
+         * @throws Exception if the run fails; its future completes exceptionally
+         */
+        SolveResult execute(BooleanSupplier latest) throws Exception;
+    }
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+    private final long quietMillis;
+    private final long maxStalenessMillis;
+    private final int workers;
+    private final long quantumMillis;
+    private final Map<String, Integer> weights;
+    private final long idleMillis;
+
+    /** Lane per event ID, created on first use and removed once idle. */
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    /** Lanes with a queued run and no run executing, in round-robin order; guarded by this. */
+    private final ArrayDeque<Lane> backlog = new ArrayDeque<>();
+
+    /** Number of runs started and not yet finished; guarded by this. */
+    private int running;
+
+    /** Told the ID of every evicted lane; called with the lane and this scheduler locked. */
+    private volatile Consumer<String> evicted = id -> { };
+
+    /**
+     * @param executor supplies the threads runs execute on; concurrency is bounded here
+     * @param timer fires debounced requests and idle eviction
+     * @param quietMillis time without updates after which a scheduled run starts; 0 starts at once
+     * @param maxStalenessMillis longest a scheduled run is delayed by a continuing burst
+     * @param workers most runs executing at once across all events; 0 for one per core
+     * @param quantumMillis run time credited to a lane of weight 1 per round-robin turn
+     * @param weights comma-separated {@code eventId:weight} pairs; unlisted events weigh 1
+     * @param idleMillis time without requests or runs after which an event's lane is evicted; 0 keeps lanes
+     * @throws IllegalStateException if a weight is malformed
+     */
+    public RunScheduler(ExecutorService executor,
+                        @Qualifier("solveScheduler") ScheduledExecutorService timer,
+                        @Value("${application.settings.scheduling.quiet-ms:0}") long quietMillis,
+                        @Value("${application.settings.scheduling.max-staleness-ms:2000}") long maxStalenessMillis,
+                        @Value("${application.settings.scheduling.workers:0}") int workers,
+                        @Value("${application.settings.scheduling.quantum-ms:2000}") long quantumMillis,
+                        @Value("${application.settings.scheduling.event-weights:}") String weights,
+                        @Value("${application.settings.scheduling.idle-evict-ms:600000}") long idleMillis) {
+        this.executor = executor;
+        this.timer = timer;
+        this.quietMillis = Math.max(0, quietMillis);
+        this.maxStalenessMillis = Math.max(this.quietMillis, maxStalenessMillis);
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.quantumMillis = Math.max(1, quantumMillis);
+        this.weights = parseWeights(weights);
+        this.idleMillis = Math.max(0, idleMillis);
+        if (this.idleMillis > 0) {
+            timer.scheduleWithFixedDelay(this::evictIdle, this.idleMillis, this.idleMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("Scheduling optimisation runs on {} worker(s)", this.workers);
+    }
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> out = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] pair = entry.split(":");
+            try {
+                if (pair.length != 2) throw new NumberFormatException();
+                out.put(pair[0].trim(), Math.max(1, Integer.parseInt(pair[1].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Malformed event weight: " + entry);
+            }
+        }
+        return Map.copyOf(out);
+    }
+
+    /**
+     * Sets the callback told the ID of every evicted event, so that per-event state kept
+     * elsewhere goes with its lane. It runs while no run of the event can start.
+     *
+     * @param listener receives evicted event IDs
+     */
+    void onEvict(Consumer<String> listener) {
+        this.evicted = listener;
+    }
+
+    private Lane lane(String eventId) {
+        return lanes.computeIfAbsent(eventId, id -> new Lane(id, weights.getOrDefault(id, 1)));
+    }
+
+    /**
+     * Requests a run for an event, coalescing bursts of requests into a single run.
+     * <p>
+     * {@code launch} is run on the timer thread when the request fires and should read
+     * the event's latest data and call {@link #submit}; only the most recent launch of a
+     * burst is run, so every run starts from the latest snapshot.
+     *
+     * @param eventId event whose data changed
+     * @param launch starts a run over the data current at the time it is called
+     */
+    public void schedule(String eventId, Runnable launch) {
+        while (true) {
+            Lane lane = lane(eventId);
+            synchronized (lane) {
+                if (lane.evicted) continue;   // removed after lookup; the next lookup creates a fresh lane
+                long now = System.currentTimeMillis();
+                lane.lastActive = now;
+                if (lane.pending == null) lane.pendingSince = now;
+                lane.pending = launch;
+                long seq = ++lane.scheduled;
+                long delay = Math.min(quietMillis, lane.pendingSince + maxStalenessMillis - now);
+                if (delay <= 0) {
+                    fire(lane, seq);
+                } else {
+                    timer.schedule(() -> fire(lane, seq), delay, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+        }
+    }
+
+    /** Starts the lane's pending launch unless a later request has rescheduled it. */
+    private void fire(Lane lane, long seq) {
+        Runnable launch;
+        synchronized (lane) {
+            if (seq != lane.scheduled || lane.pending == null) return;
+            launch = lane.pending;
+            lane.pending = null;
+        }
+        try {
+            launch.run();
+        } catch (RuntimeException e) {
+            log.error("Scheduled optimisation failed to start", e);
+        }
+    }
+
+    /**
+     * Queues a run of an event, interrupting its in-progress run and replacing, with its
+     * future cancelled, a run of the event still waiting for a worker.
+     *
+     * @param eventId event the run belongs to
+     * @param run work to execute on a solver worker
+     * @return future completed with the run's result, or exceptionally if it fails
+     */
+    public CompletableFuture<SolveResult> submit(String eventId, Run run) {
+        CompletableFuture<SolveResult> result = new CompletableFuture<>();
+        synchronized (this) {
+            // Lanes are only evicted with this scheduler locked, so the lane found here stays live
+            Lane lane = lane(eventId);
+            lane.lastActive = System.currentTimeMillis();
+            if (lane.queued != null) {
+                lane.queued.result().cancel(false);
+            } else if (!lane.busy) {
+                backlog.addLast(lane);
+            }
+            lane.queued = new Job(run, ++lane.currentRun, result);
+
+            // Interrupt the event's previous run if active; it requeues the lane on exit
+            if (lane.worker != null) lane.worker.interrupt();
+            dispatch();
+        }
+        return result;
+    }
+
+    /**
+     * Starts queued runs while workers are free, serving lanes by deficit round-robin.
+     * A lane whose credit is used up gets its weighted quantum and goes to the back.
+     */
+    private void dispatch() {
+        while (running < workers && !backlog.isEmpty()) {
+            Lane lane = backlog.pollFirst();
+            if (lane.deficit <= 0) {
+                lane.deficit += quantumMillis * lane.weight;
+                backlog.addLast(lane);
+                continue;
+            }
+            Job job = lane.queued;
+            lane.queued = null;
+            lane.busy = true;
+            running++;
+            executor.execute(() -> execute(lane, job));
+        }
+    }
+
+    /** Runs one job on a worker thread and charges its duration to the lane. */
+    private void execute(Lane lane, Job job) {
+        long start = System.nanoTime();
+        try {
+            synchronized (this) {
+                lane.worker = Thread.currentThread();
+                if (lane.queued != null) {
+                    job.result().cancel(false);   // superseded before it started
+                    return;
+                }
+            }
+            job.result().complete(job.run().execute(() -> lane.currentRun == job.id()));
+        } catch (Exception ex) {
+            job.result().completeExceptionally(ex);
+        } finally {
+            finished(lane, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private synchronized void finished(Lane lane, long elapsedMillis) {
+        lane.worker = null;
+        Thread.interrupted();   // a cancel aimed at this run must not hit the next one on this thread
+        lane.busy = false;
+        lane.lastActive = System.currentTimeMillis();
+        running--;
+        lane.deficit -= elapsedMillis;
+        if (lane.queued != null) {
+            backlog.addLast(lane);
+        } else {
+            lane.deficit = Math.min(lane.deficit, 0);   // idle lanes keep their debt but bank no credit
+        }
+        dispatch();
+    }
+
+    /**
+     * Removes the lanes of events without a pending request, a queued or executing run
+     * and any activity for the idle period. Locks each lane before the scheduler, in the
+     * same order as a request that fires at once.
+     */
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (Lane lane : lanes.values()) {
+            synchronized (lane) {
+                synchronized (this) {
+                    if (lane.pending != null || lane.queued != null || lane.busy
+                            || now - lane.lastActive < idleMillis) {
+                        continue;
+                    }
+                    lane.evicted = true;
+                    lanes.remove(lane.eventId, lane);
+                    evicted.accept(lane.eventId);
+                }
+            }
+        }
+    }
+
+    /**
+     * A run waiting for a worker.
+     *
+     * @param run work of the run
+     * @param id sequence number of the run within its lane
+     * @param result completed when the run finishes; cancelled if it is superseded first
+     */
+    private record Job(Run run, long id, CompletableFuture<SolveResult> result) {
+    }
+
+    /** Scheduling state of one event. */
+    private static final class Lane {
+
+        final String eventId;
+
+        /** Share of the workers relative to other lanes when they compete. */
+        final int weight;
+
+        /** Sequence number of the latest submitted run; older runs are no longer the latest. */
+        volatile long currentRun;
+
+        /** Launch of the latest scheduled request not yet started; guarded by the lane. */
+        Runnable pending;
+
+        /** When the oldest update covered by {@link #pending} arrived; guarded by the lane. */
+        long pendingSince;
+
+        /** Sequence number of the latest schedule call; earlier timers are stale. Guarded by the lane. */
+        long scheduled;
+
+        /** Latest run waiting for a worker; guarded by the scheduler. */
+        Job queued;
+
+        /** Whether a run of this lane has been started and not finished; guarded by the scheduler. */
+        boolean busy;
+
+        /** Thread executing the lane's run once it has started; guarded by the scheduler. */
+        Thread worker;
+
+        /** Run time in ms the lane may still use before yielding its turn; guarded by the scheduler. */
+        long deficit;
+
+        /** Last request, submission or finished run; written under the lane or the scheduler. */
+        volatile long lastActive = System.currentTimeMillis();
+
+        /** Whether the lane was removed; set with the lane and the scheduler locked. */
+        boolean evicted;
+
+        Lane(String eventId, int weight) {
+            this.eventId = eventId;
+            this.weight = weight;
+        }
+    }
+}
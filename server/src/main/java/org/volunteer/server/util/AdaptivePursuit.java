@@ -0,0 +1,71 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adaptive pursuit over a fixed set of operators (Thierens, 2005).
+ * <p>
+ * Every operator (arm) has a selection probability and a running reward estimate.
+ * After each reward the estimate of the rewarded arm moves towards it, and the
+ * probabilities are pursued towards the current best arm: it approaches
+ * {@code 1 - (K - 1) * pMin} while every other arm approaches {@code pMin}, so no
+ * operator is ever starved and a change of the best arm is noticed quickly. With a
+ * learning rate of 0 the initial probabilities are kept, i.e. a fixed roulette wheel.
+ * Not thread-safe; each island owns its own instances.
+ */
+final class AdaptivePursuit {
+
+    private final double[] probabilities;
+    private final double[] estimates;
+    private final double learningRate;
+    private final double minProbability;
+    private final double maxProbability;
+
+    /**
+     * @param initial starting selection probability per arm, summing to 1
+     * @param learningRate speed at which estimates and probabilities adapt [0.0-1.0]
+     * @param minProbability floor every arm is pursued towards, below 1 / K
+     */
+    AdaptivePursuit(double[] initial, double learningRate, double minProbability) {
+        this.probabilities = initial.clone();
+        this.estimates = new double[initial.length];
+        this.learningRate = learningRate;
+        this.minProbability = minProbability;
+        this.maxProbability = 1.0 - (initial.length - 1) * minProbability;
+    }
+
+    /** @return arm drawn by roulette wheel over the current probabilities */
+    int select(ThreadLocalRandom rng) {
+        double x = rng.nextDouble();
+        int last = probabilities.length - 1;
+        for (int arm = 0; arm < last; arm++) {
+            x -= probabilities[arm];
+            if (x < 0) return arm;
+        }
+        return last;
+    }
+
+    /**
+     * Credits an arm with the reward of one application.
+     * @param arm arm that was applied
+     * @param reward non-negative payoff, e.g. improvement per nanosecond
+     */
+    void reward(int arm, double reward) {
+        if (learningRate == 0) return;
+        estimates[arm] += learningRate * (reward - estimates[arm]);
+
+        int best = 0;
+        for (int a = 1; a < estimates.length; a++) {
+            if (estimates[a] > estimates[best]) best = a;
+        }
+        for (int a = 0; a < probabilities.length; a++) {
+            double target = a == best ? maxProbability : minProbability;
+            probabilities[a] += learningRate * (target - probabilities[a]);
+        }
+    }
+
+    /** @return current selection probability of an arm */
+    double probability(int arm) {
+        return probabilities[arm];
+    }
+}
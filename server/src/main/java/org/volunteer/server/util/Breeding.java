@@ -0,0 +1,97 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How an {@link Island} turns its population into the next generation.
+ * <p>
+ * {@link Scheme#STEADY_STATE} breeds one child per generation and replaces the worst
+ * member. The batch schemes breed a whole batch of λ children per generation, in
+ * parallel on a fork-join pool once the batch is large enough to amortise the task
+ * overhead, and then select the μ survivors: {@link Scheme#GENERATIONAL} keeps the
+ * best {@code elites} parents and fills the rest with the best children, while
+ * {@link Scheme#MU_PLUS_LAMBDA} keeps the best μ of parents and children together.
+ * Immutable and thread-safe.
+ */
+public final class Breeding {
+
+    /** Replacement schemes. */
+    public enum Scheme {
+        /** One child per generation replaces the worst member. */
+        STEADY_STATE,
+        /** λ children replace all but the best {@code elites} parents. */
+        GENERATIONAL,
+        /** The best μ of the μ parents and λ children survive. */
+        MU_PLUS_LAMBDA
+    }
+
+    /** Classic one-child-per-generation loop. */
+    public static final Breeding STEADY_STATE = new Breeding(Scheme.STEADY_STATE, 1, 0, null);
+
+    /** Below this many genes per batch, children are bred on the calling thread. */
+    private static final long PARALLEL_MIN_GENES = 1L << 16;
+
+    private final Scheme scheme;
+    private final int batchSize;
+    private final int elites;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param scheme replacement scheme
+     * @param batchSize children per generation (λ) for the batch schemes
+     * @param elites best parents always kept by {@link Scheme#GENERATIONAL}
+     * @param pool pool batch children are bred on, or null to breed sequentially
+     */
+    public Breeding(Scheme scheme, int batchSize, int elites, ForkJoinPool pool) {
+        this.scheme = scheme;
+        this.batchSize = Math.max(1, batchSize);
+        this.elites = Math.max(0, elites);
+        this.pool = pool;
+    }
+
+    /** @return replacement scheme */
+    public Scheme scheme() {
+        return scheme;
+    }
+
+    /**
+     * Children bred per generation. Generational replacement always breeds at least
+     * enough children to refill every non-elite place.
+     *
+     * @param popSize population size μ
+     * @return λ; 1 for steady state
+     */
+    public int batchSize(int popSize) {
+        return switch (scheme) {
+            case STEADY_STATE -> 1;
+            case GENERATIONAL -> Math.max(batchSize, popSize - elites(popSize));
+            case MU_PLUS_LAMBDA -> batchSize;
+        };
+    }
+
+    /** @return parents kept unconditionally by generational replacement, at most μ - 1 */
+    int elites(int popSize) {
+        return Math.min(elites, popSize - 1);
+    }
+
+    /**
+     * Free arena slots an island needs next to its population: one per child of a
+     * batch, which also covers the single copy used for elite hill-climbing.
+     *
+     * @param popSize population size μ
+     * @return spare slots to allocate
+     */
+    public int spareSlots(int popSize) {
+        return batchSize(popSize);
+    }
+
+    /**
+     * @param children batch size λ
+     * @param volunteers genes per child
+     * @return pool to breed the batch on, or null if it should stay on the calling thread
+     */
+    ForkJoinPool poolFor(int children, int volunteers) {
+        if (pool == null || pool.getParallelism() < 2 || children < 2) return null;
+        return (long) children * volunteers >= PARALLEL_MIN_GENES ? pool : null;
+    }
+}
@@ -0,0 +1,85 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Repair operator that moves volunteers out of overfull services before a child is judged.
+ * <p>
+ * Overflow costs {@link FitnessCalculator#OVERFLOW_PENALTY} per unit, so without repair
+ * most of the search is spent breeding infeasible children only to discard them. One
+ * pass visits the volunteers from a random offset, so the same volunteers are not always
+ * evicted, and moves each volunteer sitting in an overfull service to the first service of
+ * their ranked list that still has room, or failing that to any service with room. Only
+ * moves that lower the total cost are applied, so repair never worsens an individual, and
+ * the pass stops as soon as no overflow is left. Costs O(S) for feasible individuals and
+ * O(V + S) otherwise. Immutable and thread-safe.
+ */
+public final class CapacityRepair {
+
+    /** Repair that never runs. */
+    public static final CapacityRepair DISABLED = new CapacityRepair(0.0);
+
+    private final double rate;
+
+    /**
+     * @param rate probability of repairing each bred child [0.0-1.0]
+     */
+    public CapacityRepair(double rate) {
+        this.rate = rate;
+    }
+
+    /** @return whether a freshly bred child should be repaired */
+    boolean forChild(ThreadLocalRandom rng) {
+        return rate >= 1.0 || rate > 0 && rng.nextDouble() < rate;
+    }
+
+    /**
+     * Removes as much overflow as possible from an evaluated individual in place.
+     *
+     * @param arena storage holding the individual; fitness is kept current
+     * @param slot occupied slot to repair
+     * @param inst problem context the arena is bound to
+     * @return whether any volunteer was moved
+     */
+    public boolean repair(PopulationArena arena, int slot, ProblemInstance inst) {
+        int s = inst.serviceCount();
+        int[] caps = inst.capacities();
+        long excess = 0;
+        for (int svc = 0; svc < s; svc++) {
+            excess += Math.max(0, arena.load(slot, svc) - caps[svc]);
+        }
+        if (excess == 0) return false;
+
+        int v = inst.volunteerCount();
+        int offset = ThreadLocalRandom.current().nextInt(v);
+        int spare = 0;   // cursor for the any-service fallback; services behind it are full
+        boolean moved = false;
+
+        for (int k = 0; k < v && excess > 0; k++) {
+            int i = offset + k < v ? offset + k : offset + k - v;
+            int from = arena.gene(slot, i);
+            if (arena.load(slot, from) <= caps[from]) continue;
+
+            int to = -1;
+            for (int svc : inst.rankedServices()[i]) {
+                if (arena.load(slot, svc) < caps[svc]) {
+                    to = svc;
+                    break;
+                }
+            }
+            if (to < 0) {
+                while (spare < s && arena.load(slot, spare) >= caps[spare]) spare++;
+                if (spare == s) break;   // every service is full: overflow cannot be removed
+                to = spare;
+            }
+            if (arena.moveDelta(slot, i, to) < 0) {
+                arena.setGene(slot, i, to);
+                excess--;
+                moved = true;
+            }
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,84 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Recombination operators that write a child of two evaluated parents into an arena slot.
+ * <p>
+ * Every operator starts the child as a copy of one parent and applies the genes taken
+ * from the other through {@link PopulationArena#setGene}, so fitness, loads and hash
+ * stay incremental and no full rescan is needed. Stateless and thread-safe.
+ */
+public enum Crossover {
+
+    /** One cut; genes before it come from the first parent, the rest from the second. */
+    SINGLE_POINT {
+        @Override
+        void apply(PopulationArena arena, int a, int b, int child, ThreadLocalRandom rng) {
+            arena.crossover(a, b, child);
+        }
+    },
+
+    /** Two cuts; the middle segment comes from the second parent. */
+    TWO_POINT {
+        @Override
+        void apply(PopulationArena arena, int a, int b, int child, ThreadLocalRandom rng) {
+            int n = arena.volunteers;
+            int from = rng.nextInt(n);
+            int to = from + 1 + rng.nextInt(n - from);
+            if (to - from > n / 2) {
+                arena.copy(b, child);
+                arena.applySegment(a, child, 0, from);
+                arena.applySegment(a, child, to, n);
+            } else {
+                arena.copy(a, child);
+                arena.applySegment(b, child, from, to);
+            }
+        }
+    },
+
+    /** Every gene comes from either parent with equal probability. */
+    UNIFORM {
+        @Override
+        void apply(PopulationArena arena, int a, int b, int child, ThreadLocalRandom rng) {
+            arena.copy(a, child);
+            long bits = 0;
+            for (int i = 0; i < arena.volunteers; i++) {
+                if ((i & 63) == 0) bits = rng.nextLong();
+                if ((bits >>> (i & 63) & 1) != 0) arena.setGene(child, i, arena.gene(b, i));
+            }
+        }
+    },
+
+    /**
+     * Uniform crossover onto a copy of the better parent that only takes a gene from the
+     * other parent if its service still has free capacity, so it never adds overflow.
+     */
+    CAPACITY_PRESERVING {
+        @Override
+        void apply(PopulationArena arena, int a, int b, int child, ThreadLocalRandom rng) {
+            int base = arena.fitness(a) <= arena.fitness(b) ? a : b;
+            int donor = base == a ? b : a;
+            int[] caps = arena.inst.capacities();
+            arena.copy(base, child);
+            long bits = 0;
+            for (int i = 0; i < arena.volunteers; i++) {
+                if ((i & 63) == 0) bits = rng.nextLong();
+                if ((bits >>> (i & 63) & 1) == 0) continue;
+                int svc = arena.gene(donor, i);
+                if (arena.load(child, svc) < caps[svc]) arena.setGene(child, i, svc);
+            }
+        }
+    };
+
+    /**
+     * Writes the offspring of two parents into {@code child}.
+     *
+     * @param arena storage holding parents and child
+     * @param a first parent slot
+     * @param b second parent slot
+     * @param child destination slot, distinct from both parents
+     * @param rng source of randomness
+     */
+    abstract void apply(PopulationArena arena, int a, int b, int child, ThreadLocalRandom rng);
+}
@@ -0,0 +1,100 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded set of the Zobrist hashes of an island's current population members.
+ * <p>
+ * A gene sequence hashes to the XOR of one pseudo-random key per (volunteer, service)
+ * pair, so {@link PopulationArena} keeps every slot's hash current in O(1) per changed
+ * gene. The island records each member's hash when it enters the population, including
+ * the initial members, and forgets it when the member leaves, so a child is only rejected
+ * while an identical individual is still a member. This is a rejection test only; no
+ * fitness is stored, since children are already scored incrementally while they are bred.
+ * <p>
+ * The set is direct-mapped: each hash owns one entry and a colliding hash overwrites it,
+ * so memory stays fixed and every operation is a single atomic access. It is lossy but
+ * never wrong barring a 64-bit collision: a lost entry only lets a duplicate be
+ * hill-climbed or admitted. Thread-safe, so batch children bred in parallel can share it.
+ */
+public final class DuplicateCache {
+
+    /** Cache that never reports a duplicate and records nothing. */
+    public static final DuplicateCache DISABLED = new DuplicateCache(0);
+
+    private final AtomicLongArray entries;
+    private final int mask;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param capacity number of entries, rounded up to a power of two; 0 disables
+     */
+    public DuplicateCache(int capacity) {
+        int size = capacity <= 0 ? 0 : Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.entries = size == 0 ? null : new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Reports whether a gene sequence duplicates a recorded member, counting the lookup.
+     * @param hash Zobrist hash of a gene sequence
+     * @return whether the same hash is recorded and not yet forgotten or overwritten
+     */
+    boolean contains(long hash) {
+        if (entries == null) return false;
+        lookups.increment();
+        if (entries.get(index(hash)) == hash) {
+            hits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records the hash of an individual entering the population.
+     * @param hash Zobrist hash of its genes
+     */
+    void record(long hash) {
+        if (entries != null) entries.set(index(hash), hash);
+    }
+
+    /**
+     * Forgets the hash of an individual leaving the population, unless a colliding hash
+     * has taken its entry since.
+     * @param hash Zobrist hash of its genes
+     */
+    void forget(long hash) {
+        if (entries != null) entries.compareAndSet(index(hash), hash, 0);
+    }
+
+    private int index(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /** @return number of {@link #contains} calls */
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    /** @return number of {@link #contains} calls that found a duplicate */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Zobrist key of one gene: a SplitMix64 finalisation of the (volunteer, service)
+     * pair, so keys need no table and are identical in every arena.
+     *
+     * @param volunteer volunteer index
+     * @param svc service index
+     * @return pseudo-random 64-bit key
+     */
+    static long key(int volunteer, int svc) {
+        long z = ((long) volunteer << 32 | svc) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
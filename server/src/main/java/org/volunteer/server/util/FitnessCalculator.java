@@ -1,21 +1,25 @@
 // Path: src/main/java/org/volunteer/server/ga/FitnessCalculator.java
 package org.volunteer.server.util;
 
-import org.volunteer.server.model.VolunteerPreference;
-import org.volunteer.server.model.ProblemInstance;
-import org.volunteer.server.model.ServiceMeta;
+import java.util.Arrays;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import org.volunteer.server.model.ProblemInstance;
 
 /**
  * Calculates fitness scores for chromosomes based on preference satisfaction and capacity constraints.
  * <p>
  * Combines quadratic ranking penalties with heavy capacity violation penalties to guide the genetic algorithm
- * toward valid, preference-optimized solutions. All calculations are stateless and thread-safe.
+ * toward valid, preference-optimized solutions. Costs are read from the instance's precompiled tables, so
+ * evaluation performs no map lookups, string comparisons or allocations. Thread-safe: the only mutable
+ * state is a per-thread load counter.
  */
-final class FitnessCalculator {
+public final class FitnessCalculator {
+
+    /** Penalty charged for every volunteer above a service's capacity. */
+    static final double OVERFLOW_PENALTY = 1000.0;
+
+    /** Reusable per-thread service load counter, grown on demand. */
+    private static final ThreadLocal<int[]> LOAD = ThreadLocal.withInitial(() -> new int[0]);
 
     /**
      * Computes total dissatisfaction cost for a volunteer-service assignment sequence.
@@ -28,43 +32,134 @@ final class FitnessCalculator {
      * </ul>
      *
      * @param genes volunteer-to-service assignment indices
-     * @param inst problem context containing services, preferences, and penalty rules
+     * @param inst problem context containing the precompiled cost and capacity tables
      * @return aggregated cost score where lower values indicate better solutions
      */
-    static double totalCost(int[] genes, ProblemInstance inst) {
-        double cost = 0.0;
-        Map<String,Integer> svcLoad = new HashMap<>();
-        List<VolunteerPreference> vols = inst.volunteers();
-
-        // Calculate preference-based costs
-        for (int i = 0; i < genes.length; i++) {
-            int svcIdx = genes[i];
-            ServiceMeta svc = inst.services().get(svcIdx);
-            svcLoad.merge(svc.id(), 1, Integer::sum);
-
-            VolunteerPreference vp = vols.get(i);
-            List<String> prefs = vp.rankedServiceIds();
-            String assignedId = svc.id();
-
-            int rank = prefs.indexOf(assignedId);
-            if (rank >= 0) {
-                cost += Math.pow(rank, 2);  // Quadratic penalty for preference depth
-            } else {
-                int Ns = prefs.size();
-                cost += inst.preferencePenalty() * Math.pow(Ns, 2);  // Fixed penalty multiplier
-            }
+    public static double totalCost(int[] genes, ProblemInstance inst) {
+        int[] load = LOAD.get();
+        if (load.length < inst.serviceCount()) {
+            load = new int[inst.serviceCount()];
+            LOAD.set(load);
+        }
+        return totalCost(genes, 0, inst, load, 0);
+    }
+
+    /**
+     * Computes total cost of one assignment stored inside a larger buffer while recording
+     * its per-service load into a caller-owned counter.
+     *
+     * @param genes buffer holding {@code inst.volunteerCount()} service indices from {@code geneFrom}
+     * @param geneFrom offset of the first volunteer's gene
+     * @param inst problem context containing the precompiled cost and capacity tables
+     * @param load buffer with {@code inst.serviceCount()} counters from {@code loadFrom}; overwritten
+     * @param loadFrom offset of the first service's counter
+     * @return aggregated cost score where lower values indicate better solutions
+     */
+    static double totalCost(int[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+        int[] costs = inst.costs();
+        int[] caps = inst.capacities();
+        int s = caps.length;
+        int v = inst.volunteerCount();
+        Arrays.fill(load, loadFrom, loadFrom + s, 0);
+
+        // Preference-based costs
+        long cost = 0;
+        for (int i = 0, row = 0; i < v; i++, row += s) {
+            int svc = genes[geneFrom + i];
+            load[loadFrom + svc]++;
+            cost += costs[row + svc];
+        }
+
+        return cost + overflowPenalty(load, loadFrom, caps);
+    }
+
+    /** {@link #totalCost(int[], int, ProblemInstance, int[], int)} for genes stored as unsigned bytes. */
+    static double totalCost(byte[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+        int[] costs = inst.costs();
+        int[] caps = inst.capacities();
+        int s = caps.length;
+        int v = inst.volunteerCount();
+        Arrays.fill(load, loadFrom, loadFrom + s, 0);
+
+        long cost = 0;
+        for (int i = 0, row = 0; i < v; i++, row += s) {
+            int svc = genes[geneFrom + i] & 0xFF;
+            load[loadFrom + svc]++;
+            cost += costs[row + svc];
         }
+        return cost + overflowPenalty(load, loadFrom, caps);
+    }
+
+    /** {@link #totalCost(int[], int, ProblemInstance, int[], int)} for genes stored as unsigned shorts. */
+    static double totalCost(short[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+        int[] costs = inst.costs();
+        int[] caps = inst.capacities();
+        int s = caps.length;
+        int v = inst.volunteerCount();
+        Arrays.fill(load, loadFrom, loadFrom + s, 0);
+
+        long cost = 0;
+        for (int i = 0, row = 0; i < v; i++, row += s) {
+            int svc = genes[geneFrom + i] & 0xFFFF;
+            load[loadFrom + svc]++;
+            cost += costs[row + svc];
+        }
+        return cost + overflowPenalty(load, loadFrom, caps);
+    }
 
-        // Apply capacity constraint penalties
-        for (ServiceMeta s : inst.services()) {
-            int load = svcLoad.getOrDefault(s.id(), 0);
-            if (load > s.maxCapacity()) {
-                cost += 1000.0 * (load - s.maxCapacity());  // Strong discouragement for overflows
-            }
+    /** Capacity constraint penalties for a freshly counted load vector. */
+    private static double overflowPenalty(int[] load, int loadFrom, int[] caps) {
+        long overflow = 0;
+        for (int j = 0; j < caps.length; j++) {
+            int excess = load[loadFrom + j] - caps[j];
+            if (excess > 0) overflow += excess;
         }
-        return cost;
+        return OVERFLOW_PENALTY * overflow;
+    }
+
+    /**
+     * Computes the cost change of moving one volunteer between services without applying it.
+     * <p>
+     * O(1): touches one cost row and the two affected load counters only.
+     *
+     * @param volunteer index of the volunteer being moved
+     * @param from service index currently assigned
+     * @param to service index to assign
+     * @param load buffer holding the assignment's per-service load (not modified)
+     * @param loadFrom offset of the first service's counter in {@code load}
+     * @param inst problem context containing the precompiled cost and capacity tables
+     * @return cost after the move minus cost before it
+     */
+    static double moveDelta(int volunteer, int from, int to, int[] load, int loadFrom, ProblemInstance inst) {
+        if (from == to) return 0.0;
+        int[] caps = inst.capacities();
+        int row = volunteer * caps.length;
+        double delta = inst.costs()[row + to] - inst.costs()[row + from];
+        if (load[loadFrom + from] > caps[from]) delta -= OVERFLOW_PENALTY;  // one overflow unit freed
+        if (load[loadFrom + to] >= caps[to]) delta += OVERFLOW_PENALTY;     // one overflow unit added
+        return delta;
+    }
+
+    /**
+     * Computes the cost change of two volunteers exchanging services.
+     * <p>
+     * O(1): loads are unchanged by a swap, so only the two cost rows matter.
+     *
+     * @param u first volunteer index, currently at {@code su}
+     * @param su service index of {@code u}
+     * @param w second volunteer index, currently at {@code sw}
+     * @param sw service index of {@code w}
+     * @param inst problem context containing the precompiled cost table
+     * @return cost after the swap minus cost before it
+     */
+    static double swapDelta(int u, int su, int w, int sw, ProblemInstance inst) {
+        int s = inst.serviceCount();
+        int[] costs = inst.costs();
+        int ru = u * s;
+        int rw = w * s;
+        return costs[ru + sw] - costs[ru + su] + costs[rw + su] - costs[rw + sw];
     }
 
     /** Prevents instantiation - this is a utility class. */
     private FitnessCalculator() {}
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package org.volunteer.server.util;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Implementations of the full fitness scan a {@link PopulationArena} uses to evaluate
+ * individuals from scratch.
+ * <p>
+ * {@link #SCALAR} is the plain loop in {@link FitnessCalculator}. {@link #VECTOR} runs
+ * the same computation through {@code VectorFitness}, which lives in {@code src/vector/java}
+ * and is only compiled by the {@code vector} Maven profile, so the default build does not
+ * depend on the incubating {@code jdk.incubator.vector} module. It is loaded reflectively
+ * and only handed out by {@link #vectorOrScalar()} when the class is present and the JVM
+ * was started with {@code --add-modules jdk.incubator.vector}. Incremental updates are
+ * O(1) and identical for both. Stateless and thread-safe.
+ */
+public enum FitnessEvaluator {
+
+    /** Portable scalar loops. */
+    SCALAR {
+        @Override
+        double totalCost(int[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+            return FitnessCalculator.totalCost(genes, geneFrom, inst, load, loadFrom);
+        }
+
+        @Override
+        double totalCost(short[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+            return FitnessCalculator.totalCost(genes, geneFrom, inst, load, loadFrom);
+        }
+
+        @Override
+        double totalCost(byte[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+            return FitnessCalculator.totalCost(genes, geneFrom, inst, load, loadFrom);
+        }
+    },
+
+    /** SIMD gather of per-volunteer costs and vectorised overflow sum; only valid if {@link #vectorOrScalar()} returns it. */
+    VECTOR {
+        @Override
+        double totalCost(int[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+            return Vector.SCAN.totalCost(genes, geneFrom, inst, load, loadFrom);
+        }
+
+        @Override
+        double totalCost(short[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+            return Vector.SCAN.totalCost(genes, geneFrom, inst, load, loadFrom);
+        }
+
+        @Override
+        double totalCost(byte[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+            return Vector.SCAN.totalCost(genes, geneFrom, inst, load, loadFrom);
+        }
+    };
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_SCAN = "org.volunteer.server.util.VectorFitness";
+
+    /**
+     * Computes the cost of one individual inside a gene buffer and rebuilds its loads,
+     * see {@link FitnessCalculator#totalCost(int[], int, ProblemInstance, int[], int)}.
+     */
+    abstract double totalCost(int[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom);
+
+    /** As the int[] variant, for genes stored as unsigned shorts. */
+    abstract double totalCost(short[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom);
+
+    /** As the int[] variant, for genes stored as unsigned bytes. */
+    abstract double totalCost(byte[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom);
+
+    /**
+     * Picks the vectorised evaluator when it can be used on this build, JVM and hardware.
+     * @return {@link #VECTOR} if the vector scan was compiled in and loads, otherwise {@link #SCALAR}
+     */
+    public static FitnessEvaluator vectorOrScalar() {
+        return Vector.SCAN != null ? VECTOR : SCALAR;
+    }
+
+    /** Full scans implemented outside the default build, see {@code VectorFitness}. */
+    interface Scan {
+
+        double totalCost(int[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom);
+
+        double totalCost(short[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom);
+
+        double totalCost(byte[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom);
+    }
+
+    /** Loads the vector scan on first use. */
+    private static final class Vector {
+
+        /** Vector scan, or null if it is not available. */
+        static final Scan SCAN = load();
+
+        private static Scan load() {
+            if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) return null;
+            try {
+                return (Scan) Class.forName(VECTOR_SCAN).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                // Built without the vector profile
+                return null;
+            } catch (LinkageError e) {
+                // Unsupported vector shapes on this hardware
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Heuristics that build a single initial gene sequence.
+ * <p>
+ * Apart from {@link #RANDOM}, strategies respect capacities while free slots remain
+ * and steer every volunteer towards services they actually ranked, so individuals start
+ * near-feasible instead of paying the unranked and overflow penalties. Volunteers left
+ * over once their ranked services are full go to the service with the most free
+ * capacity. Thread-safe; randomness comes from {@link ThreadLocalRandom}.
+ */
+public enum InitialisationStrategy {
+
+    /** Uniform random service per volunteer; maximal diversity, mostly infeasible. */
+    RANDOM {
+        @Override
+        public int[] create(ProblemInstance inst) {
+            return ThreadLocalRandom.current().ints(inst.volunteerCount(), 0, inst.serviceCount()).toArray();
+        }
+    },
+
+    /** Volunteers in snapshot order take their best-ranked service that still has room. */
+    GREEDY_BY_RANK {
+        @Override
+        public int[] create(ProblemInstance inst) {
+            int[] genes = new int[inst.volunteerCount()];
+            int[] free = inst.capacities().clone();
+            for (int v = 0; v < genes.length; v++) {
+                int[] ranked = inst.rankedServices()[v];
+                int pos = firstFree(ranked, free, 0);
+                genes[v] = take(free, pos >= 0 ? ranked[pos] : fallback(ranked, free));
+            }
+            return genes;
+        }
+    },
+
+    /**
+     * Volunteers in random order pick uniformly among their first two ranked services
+     * that still have room (a GRASP-style restricted candidate list).
+     */
+    RANDOMISED_GREEDY {
+        @Override
+        public int[] create(ProblemInstance inst) {
+            ThreadLocalRandom rng = ThreadLocalRandom.current();
+            int[] genes = new int[inst.volunteerCount()];
+            int[] free = inst.capacities().clone();
+            for (int v : shuffledOrder(genes.length, rng)) {
+                int[] ranked = inst.rankedServices()[v];
+                int pos = firstFree(ranked, free, 0);
+                if (pos < 0) {
+                    genes[v] = take(free, fallback(ranked, free));
+                    continue;
+                }
+                if (rng.nextBoolean()) {
+                    int next = firstFree(ranked, free, pos + 1);
+                    if (next >= 0) pos = next;
+                }
+                genes[v] = take(free, ranked[pos]);
+            }
+            return genes;
+        }
+    },
+
+    /**
+     * Capacity-aware round-robin: round r offers every still unassigned volunteer
+     * (in random order) their r-th choice if it has room, so nobody gets a second
+     * choice before everyone has been offered their first.
+     */
+    ROUND_ROBIN {
+        @Override
+        public int[] create(ProblemInstance inst) {
+            ThreadLocalRandom rng = ThreadLocalRandom.current();
+            int n = inst.volunteerCount();
+            int[] genes = new int[n];
+            int[] free = inst.capacities().clone();
+            int[] order = shuffledOrder(n, rng);
+            boolean[] done = new boolean[n];
+
+            int maxRank = 0;
+            for (int[] ranked : inst.rankedServices()) maxRank = Math.max(maxRank, ranked.length);
+
+            for (int r = 0; r < maxRank; r++) {
+                for (int v : order) {
+                    int[] ranked = inst.rankedServices()[v];
+                    if (done[v] || r >= ranked.length || free[ranked[r]] <= 0) continue;
+                    genes[v] = take(free, ranked[r]);
+                    done[v] = true;
+                }
+            }
+            for (int v : order) {
+                if (!done[v]) genes[v] = take(free, fallback(inst.rankedServices()[v], free));
+            }
+            return genes;
+        }
+    };
+
+    /**
+     * Builds one gene sequence for the instance.
+     * @param inst problem constraints and preferences
+     * @return service index per volunteer
+     */
+    public abstract int[] create(ProblemInstance inst);
+
+    /* ---------- helpers ---------- */
+
+    /** @return position of the first ranked service at or after {@code from} with room, or -1 */
+    private static int firstFree(int[] ranked, int[] free, int from) {
+        for (int i = from; i < ranked.length; i++) {
+            if (free[ranked[i]] > 0) return i;
+        }
+        return -1;
+    }
+
+    /** Service with most room; if everything is full, the volunteer's first choice. */
+    private static int fallback(int[] ranked, int[] free) {
+        int best = 0;
+        for (int s = 1; s < free.length; s++) {
+            if (free[s] > free[best]) best = s;
+        }
+        return free[best] > 0 || ranked.length == 0 ? best : ranked[0];
+    }
+
+    private static int take(int[] free, int s) {
+        free[s]--;
+        return s;
+    }
+
+    private static int[] shuffledOrder(int n, ThreadLocalRandom rng) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,335 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Independently evolving sub-population of the genetic algorithm.
+ * <p>
+ * Children are bred via binary tournament selection, crossover and mutation chosen by
+ * the island's {@link Operators} policy, an optional {@link CapacityRepair} of overfull services and an
+ * optional memetic {@link LocalSearch} step. In the
+ * steady-state scheme each generation breeds one child that replaces the worst member;
+ * the batch schemes of {@link Breeding} breed a whole batch per generation, possibly in
+ * parallel, before selecting survivors. Children identical to a current member, as
+ * reported by the island's {@link DuplicateCache}, are not hill-climbed and are kept
+ * out of the population where the scheme allows. Children are bred straight
+ * into free slots of the island's {@link PopulationArena} and the slots of discarded
+ * individuals are recycled, so the loop allocates nothing. Islands
+ * share nothing but the immutable {@link ProblemInstance}, so several can evolve
+ * concurrently; a single island must only be touched by one thread at a time.
+ */
+public final class Island {
+
+    private final ProblemInstance inst;
+    private final Operators operators;
+    private final AdaptivePursuit crossovers;
+    private final AdaptivePursuit mutations;
+    private final CapacityRepair repair;
+    private final LocalSearch localSearch;
+    private final Breeding breeding;
+    private final DuplicateCache duplicates;
+    private final PopulationArena arena;
+    private final PopulationHeap pop;
+    private long generation;
+
+    /** Slots of the current batch; for generational replacement also the survivor scratch. */
+    private final int[] batch;
+    private final boolean[] fresh;
+    private final int[] parents;
+
+    /** Operator choices and rewards per batch position, credited once the batch is bred. */
+    private final int[] crossoverArm;
+    private final int[] mutationArm;
+    private final double[] reward;
+
+    /**
+     * Creates an island around an initial population.
+     *
+     * @param inst problem constraints and preferences
+     * @param arena evaluated initial population in its leading slots with at least
+     *              {@link Breeding#spareSlots} free, see {@link PopulationInitialiser}
+     * @param operators variation operators and how they are chosen
+     * @param repair overflow repair for children, or {@link CapacityRepair#DISABLED}
+     * @param localSearch memetic step for children and elites, or {@link LocalSearch#DISABLED}
+     * @param breeding replacement scheme, e.g. {@link Breeding#STEADY_STATE}
+     * @param duplicates hashes of this island's members, or {@link DuplicateCache#DISABLED}
+     */
+    public Island(ProblemInstance inst, PopulationArena arena, Operators operators, CapacityRepair repair,
+                  LocalSearch localSearch, Breeding breeding, DuplicateCache duplicates) {
+        this.inst = inst;
+        this.operators = operators;
+        this.crossovers = operators.crossoverPolicy();
+        this.mutations = operators.mutationPolicy();
+        this.repair = repair;
+        this.localSearch = localSearch;
+        this.breeding = breeding;
+        this.duplicates = duplicates;
+        this.arena = arena;
+        this.pop = new PopulationHeap(arena, arena.capacity() - arena.available());
+        for (int i = 0; i < pop.size(); i++) duplicates.record(arena.hash(pop.get(i)));
+
+        boolean batched = breeding.scheme() != Breeding.Scheme.STEADY_STATE;
+        this.batch = new int[batched ? breeding.batchSize(pop.size()) : 0];
+        this.fresh = new boolean[batch.length];
+        this.parents = new int[breeding.scheme() == Breeding.Scheme.GENERATIONAL ? pop.size() : 0];
+        this.crossoverArm = new int[Math.max(1, batch.length)];
+        this.mutationArm = new int[crossoverArm.length];
+        this.reward = new double[crossoverArm.length];
+    }
+
+    /**
+     * Runs the breeding loop for a number of generations.
+     * @param generations number of generations to breed
+     * @param run termination state of the enclosing run; breeding stops at the first
+     *            generation boundary after its deadline or cancellation
+     * @return generations actually evolved
+     */
+    public int evolve(int generations, TerminationPolicy.Run run) {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        int g = 0;
+        for (; g < generations && !run.stopRequested(); g++) {
+            switch (breeding.scheme()) {
+                case STEADY_STATE -> {
+                    int child = arena.acquire();
+                    boolean unique = breed(child, 0, rng);
+                    credit(1);
+                    if (unique) {
+                        replaceWorst(child);
+                    } else {
+                        arena.release(child);
+                    }
+                }
+                case GENERATIONAL -> {
+                    breedBatch();
+                    replaceGeneration();
+                }
+                case MU_PLUS_LAMBDA -> {
+                    breedBatch();
+                    selectMuPlusLambda();
+                }
+            }
+
+            if (localSearch.forElite(++generation)) {
+                improveElite();
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Fills {@code child} with a new evaluated offspring of two tournament winners and
+     * records the operators used and their reward at batch position {@code i}.
+     * @return false if the child duplicates a current member
+     */
+    private boolean breed(int child, int i, ThreadLocalRandom rng) {
+        int p1 = tournament(rng);
+        int p2 = tournament(rng);
+        int cx = crossovers.select(rng);
+        int mut = mutations.select(rng);
+        long start = operators.adaptive() ? System.nanoTime() : 0;
+
+        // Fitness and hash are maintained incrementally by crossover, mutation and repair
+        Operators.crossover(cx).apply(arena, p1, p2, child, rng);
+        Operators.mutation(mut).apply(arena, child, operators.domainEscape(), rng);
+        crossoverArm[i] = cx;
+        mutationArm[i] = mut;
+        if (operators.adaptive()) {
+            double gain = Math.min(arena.fitness(p1), arena.fitness(p2)) - arena.fitness(child);
+            reward[i] = Math.max(0.0, gain) / Math.max(1, System.nanoTime() - start);
+        }
+        if (repair.forChild(rng)) {
+            repair.repair(arena, child, inst);
+        }
+        if (duplicates.contains(arena.hash(child))) {
+            return false;
+        }
+        if (localSearch.forChild(rng) && localSearch.improve(arena, child, inst)) {
+            return !duplicates.contains(arena.hash(child));
+        }
+        return true;
+    }
+
+    /**
+     * Breeds a full batch into freshly acquired slots. Children only read parents and
+     * write their own slot, so large batches are split across the breeding pool.
+     */
+    private void breedBatch() {
+        for (int i = 0; i < batch.length; i++) batch[i] = arena.acquire();
+
+        ForkJoinPool pool = breeding.poolFor(batch.length, inst.volunteerCount());
+        if (pool == null) {
+            ThreadLocalRandom rng = ThreadLocalRandom.current();
+            for (int i = 0; i < batch.length; i++) fresh[i] = breed(batch[i], i, rng);
+        } else {
+            int grain = Math.max(1, batch.length / (4 * pool.getParallelism()));
+            pool.invoke(new BreedTask(0, batch.length, grain));
+        }
+        credit(batch.length);
+    }
+
+    /** Feeds the rewards of the first {@code n} batch positions to the operator policies. */
+    private void credit(int n) {
+        if (!operators.adaptive()) return;
+        for (int i = 0; i < n; i++) {
+            crossovers.reward(crossoverArm[i], reward[i]);
+            mutations.reward(mutationArm[i], reward[i]);
+        }
+    }
+
+    /** (μ+λ): each new child displaces the current worst member if it is better. */
+    private void selectMuPlusLambda() {
+        for (int i = 0; i < batch.length; i++) {
+            int child = batch[i];
+            if (fresh[i] && arena.fitness(child) < arena.fitness(pop.worst())) {
+                replaceWorst(child);
+            } else {
+                arena.release(child);
+            }
+        }
+    }
+
+    /**
+     * Generational: the best elites survive, every other place goes to the best children.
+     * Duplicates are kept here, since every non-elite place must be refilled.
+     */
+    private void replaceGeneration() {
+        int mu = pop.size();
+        int elites = breeding.elites(mu);
+        for (int i = 0; i < mu; i++) parents[i] = pop.get(i);
+        sortByFitness(parents, mu);
+        sortByFitness(batch, batch.length);
+
+        for (int i = elites; i < mu; i++) {
+            duplicates.forget(arena.hash(parents[i]));
+            arena.release(parents[i]);
+        }
+        for (int i = mu - elites; i < batch.length; i++) arena.release(batch[i]);
+        System.arraycopy(batch, 0, parents, elites, mu - elites);
+        pop.reset(parents);
+        for (int i = 0; i < mu; i++) duplicates.record(arena.hash(parents[i]));
+    }
+
+    /**
+     * Replaces the worst member in O(log P), releases its slot and moves the duplicate
+     * cache from its hash to the newcomer's; the best member is tracked by the heap.
+     */
+    private void replaceWorst(int slot) {
+        int evicted = pop.replaceWorst(slot);
+        duplicates.forget(arena.hash(evicted));
+        duplicates.record(arena.hash(slot));
+        arena.release(evicted);
+    }
+
+    /** Insertion sort of slots by ascending fitness; batches are small and often near-sorted. */
+    private void sortByFitness(int[] slots, int n) {
+        for (int i = 1; i < n; i++) {
+            int slot = slots[i];
+            double f = arena.fitness(slot);
+            int j = i - 1;
+            while (j >= 0 && arena.fitness(slots[j]) > f) {
+                slots[j + 1] = slots[j];
+                j--;
+            }
+            slots[j + 1] = slot;
+        }
+    }
+
+    /** Hill-climbs a copy of the best member and inserts it if it got better. */
+    private void improveElite() {
+        int elite = arena.acquire();
+        arena.copy(pop.best(), elite);
+        if (localSearch.improve(arena, elite, inst)) {
+            replaceWorst(elite);
+        } else {
+            arena.release(elite);
+        }
+    }
+
+    /**
+     * Accepts a migrant from another island in place of the worst local member.
+     * @param migrant service index per volunteer; copied so islands never share state
+     */
+    public void immigrate(int[] migrant) {
+        replaceWorst(arena.add(migrant));
+    }
+
+    /** @return fitness of the best member found on this island so far */
+    public double bestFitness() {
+        return arena.fitness(pop.best());
+    }
+
+    /**
+     * @param crossover crossover operator
+     * @return its current selection probability on this island
+     */
+    public double probability(Crossover crossover) {
+        return crossovers.probability(crossover.ordinal());
+    }
+
+    /**
+     * @param mutation mutation operator, {@link Mutation#NONE} for not mutating
+     * @return its current selection probability on this island
+     */
+    public double probability(Mutation mutation) {
+        return mutations.probability(mutation.ordinal());
+    }
+
+    /** @return hashes of this island's members, for hit-rate statistics */
+    public DuplicateCache duplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Copies out the whole population, e.g. to checkpoint an interrupted run.
+     * @return genes of every member, one row per member
+     */
+    public int[][] members() {
+        int[][] out = new int[pop.size()][];
+        for (int i = 0; i < out.length; i++) out[i] = arena.genes(pop.get(i));
+        return out;
+    }
+
+    /** @return copy of the genes of the best member found on this island so far */
+    public int[] bestGenes() {
+        return arena.genes(pop.best());
+    }
+
+    /**
+     * Tournament selection between two random population members.
+     * @return slot with better (lower) fitness score
+     */
+    private int tournament(ThreadLocalRandom rng) {
+        int a = pop.get(rng.nextInt(pop.size()));
+        int b = pop.get(rng.nextInt(pop.size()));
+        return arena.fitness(a) < arena.fitness(b) ? a : b;
+    }
+
+    /** Breeds {@code batch[from, to)} by recursive halving down to the grain size. */
+    private final class BreedTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        BreedTask(int from, int to, int grain) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                ThreadLocalRandom rng = ThreadLocalRandom.current();
+                for (int i = from; i < to; i++) fresh[i] = breed(batch[i], i, rng);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BreedTask(from, mid, grain), new BreedTask(mid, to, grain));
+        }
+    }
+}
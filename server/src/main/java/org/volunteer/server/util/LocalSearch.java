@@ -0,0 +1,87 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Memetic hill-climbing step applied inside the GA loop.
+ * <p>
+ * Samples the move neighbourhood (one volunteer to another service, usually one they
+ * ranked) and the swap neighbourhood (two volunteers exchange services) at random and
+ * applies every strictly improving neighbour as soon as it is found. Each candidate is
+ * scored with an O(1) delta, and a call stops after a fixed number of candidates, so
+ * the cost per call is bounded regardless of instance size. Immutable and thread-safe.
+ */
+public final class LocalSearch {
+
+    /** Local search that never runs. */
+    public static final LocalSearch DISABLED = new LocalSearch(0.0, 0, 0);
+
+    private final double childRate;
+    private final int budget;
+    private final int eliteInterval;
+
+    /**
+     * @param childRate probability of improving each bred child [0.0-1.0]
+     * @param budget neighbour candidates evaluated per call
+     * @param eliteInterval generations between improving a copy of the island best; 0 disables
+     */
+    public LocalSearch(double childRate, int budget, int eliteInterval) {
+        this.childRate = childRate;
+        this.budget = budget;
+        this.eliteInterval = eliteInterval;
+    }
+
+    /** @return whether a freshly bred child should be improved */
+    boolean forChild(ThreadLocalRandom rng) {
+        return budget > 0 && childRate > 0 && rng.nextDouble() < childRate;
+    }
+
+    /** @return whether the island elite should be improved after this generation */
+    boolean forElite(long generation) {
+        return budget > 0 && eliteInterval > 0 && generation % eliteInterval == 0;
+    }
+
+    /**
+     * Runs one bounded first-improvement pass on an evaluated individual in place.
+     *
+     * @param arena storage holding the individual; fitness is kept current
+     * @param slot occupied slot to improve
+     * @param inst problem context the arena is bound to
+     * @return whether any improving neighbour was applied
+     */
+    public boolean improve(PopulationArena arena, int slot, ProblemInstance inst) {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        int v = inst.volunteerCount();
+        int s = inst.serviceCount();
+        boolean improved = false;
+
+        for (int evals = 0; evals < budget; evals++) {
+            if (rng.nextBoolean()) {
+                // Move: mostly towards a ranked service, occasionally anywhere
+                int i = rng.nextInt(v);
+                int[] ranked = inst.rankedServices()[i];
+                int to = ranked.length > 0 && rng.nextInt(4) != 0
+                        ? ranked[rng.nextInt(ranked.length)]
+                        : rng.nextInt(s);
+                if (arena.moveDelta(slot, i, to) < 0) {
+                    arena.setGene(slot, i, to);
+                    improved = true;
+                }
+            } else {
+                // Swap: exchanging services never changes loads
+                int i = rng.nextInt(v);
+                int j = rng.nextInt(v);
+                int si = arena.gene(slot, i);
+                int sj = arena.gene(slot, j);
+                if (si == sj) continue;
+                if (FitnessCalculator.swapDelta(i, si, j, sj, inst) < 0) {
+                    arena.swapGenes(slot, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+}
@@ -0,0 +1,243 @@
+package org.volunteer.server.util;
+
+import java.util.Arrays;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Exact volunteer-service assignment via min-cost flow (successive shortest paths).
+ * <p>
+ * The network is source → volunteer (capacity 1) → service (cost from the instance's
+ * cost table) → sink, where each service has a free arc of {@code maxCapacity} and an
+ * unbounded overflow arc at {@link FitnessCalculator#OVERFLOW_PENALTY} per unit. The
+ * optimum of this network is exactly the minimum of {@link FitnessCalculator#totalCost}.
+ * <p>
+ * Volunteers with identical preference lists are interchangeable, so the network is
+ * solved over {@link VolunteerTypes}: each type is a source with its weight as supply,
+ * and the flow is tracked as type-to-service counts that are expanded back to
+ * individual volunteers at the end. The residual graph is compressed onto the service
+ * nodes: an arc a → b stands for moving the cheapest type currently at a over to b, and
+ * is served from a lazily-invalidated heap per service pair. Each augmentation is a
+ * Bellman-Ford pass over S + 1 nodes that pushes as many units as the path allows (the
+ * remaining supply, the counts moved along the path and the free capacity at its end),
+ * so a type whose members all fit along one path is routed at once. This gives
+ * O(V · S³) in the worst case, but far fewer augmentations when types are few.
+ * Stateless and thread-safe.
+ */
+public final class MinCostFlow {
+
+    /**
+     * Computes an optimal assignment for the instance.
+     * @param inst problem context containing the precompiled cost and capacity tables
+     * @return service index per volunteer minimising total cost
+     */
+    public static int[] solve(ProblemInstance inst) {
+        return solve(inst, VolunteerTypes.of(inst));
+    }
+
+    /**
+     * Computes an optimal assignment for volunteers already grouped into types.
+     * @param inst problem context containing the precompiled cost and capacity tables
+     * @param types grouping of the instance's volunteers
+     * @return service index per volunteer minimising total cost
+     */
+    public static int[] solve(ProblemInstance inst, VolunteerTypes types) {
+        return new Run(inst, types).solve();
+    }
+
+    /** Mutable state of a single solve. */
+    private static final class Run {
+        private final VolunteerTypes types;
+        private final int[] caps;
+        private final int t;
+        private final int s;
+        /** typeCosts[k * s + b]: cost of one volunteer of type k at service b. */
+        private final int[] typeCosts;
+
+        private final int[] supply;
+        /** count[k * s + a]: volunteers of type k currently routed to service a. */
+        private final int[] count;
+        private final int[] load;
+        /** exchange[a * s + b]: types at a keyed by cost(k, b) - cost(k, a). */
+        private final LongHeap[] exchange;
+
+        private final long[] dist;
+        private final int[] predService;
+        private final int[] predType;
+
+        Run(ProblemInstance inst, VolunteerTypes types) {
+            this.types = types;
+            this.caps = inst.capacities();
+            this.t = types.count();
+            this.s = inst.serviceCount();
+            this.typeCosts = new int[t * s];
+            for (int k = 0; k < t; k++) {
+                System.arraycopy(inst.costs(), types.representatives()[k] * s, typeCosts, k * s, s);
+            }
+            this.supply = types.weights().clone();
+            this.count = new int[t * s];
+            this.load = new int[s];
+            this.exchange = new LongHeap[s * s];
+            for (int i = 0; i < exchange.length; i++) exchange[i] = new LongHeap();
+            this.dist = new long[s];
+            this.predService = new int[s];
+            this.predType = new int[s];
+        }
+
+        int[] solve() {
+            for (int k = 0; k < t; k++) {
+                while (supply[k] > 0) augment(k);
+            }
+            return expand();
+        }
+
+        /** Routes units of type {@code k} to the sink along a shortest residual path. */
+        private void augment(int k) {
+            int row = k * s;
+            for (int b = 0; b < s; b++) {
+                dist[b] = typeCosts[row + b];
+                predService[b] = -1;
+            }
+
+            // Bellman-Ford over the service exchange arcs; the residual graph has no
+            // negative cycles because every previous augmentation was a shortest path
+            for (int pass = 0; pass < s; pass++) {
+                boolean changed = false;
+                for (int a = 0; a < s; a++) {
+                    for (int b = 0; b < s; b++) {
+                        if (a == b) continue;
+                        int mover = peekValid(a, b);
+                        if (mover < 0) continue;
+                        long nd = dist[a] + typeCosts[mover * s + b] - typeCosts[mover * s + a];
+                        if (nd < dist[b]) {
+                            dist[b] = nd;
+                            predService[b] = a;
+                            predType[b] = mover;
+                            changed = true;
+                        }
+                    }
+                }
+                if (!changed) break;
+            }
+
+            // Cheapest exit to the sink: free while under capacity, overflow penalty otherwise
+            int end = 0;
+            double bestExit = Double.MAX_VALUE;
+            for (int z = 0; z < s; z++) {
+                double exit = dist[z] + (load[z] < caps[z] ? 0.0 : FitnessCalculator.OVERFLOW_PENALTY);
+                if (exit < bestExit) {
+                    bestExit = exit;
+                    end = z;
+                }
+            }
+
+            // Bottleneck: remaining supply, free capacity at the exit, types moved on the way
+            int units = supply[k];
+            if (load[end] < caps[end]) units = Math.min(units, caps[end] - load[end]);
+            for (int b = end; predService[b] >= 0; b = predService[b]) {
+                units = Math.min(units, count[predType[b] * s + predService[b]]);
+            }
+
+            // Walk the path backwards, shifting the movers one service along it
+            load[end] += units;
+            int b = end;
+            while (predService[b] >= 0) {
+                int a = predService[b];
+                move(predType[b], a, -units);
+                move(predType[b], b, units);
+                b = a;
+            }
+            move(k, b, units);
+            supply[k] -= units;
+        }
+
+        /** Adjusts the count of type {@code k} at service {@code a}, indexing newly present types. */
+        private void move(int k, int a, int units) {
+            int i = k * s + a;
+            boolean absent = count[i] == 0;
+            count[i] += units;
+            if (!absent || count[i] == 0) return;
+
+            // Publish type k's exchange arcs out of a
+            int row = k * s;
+            int base = typeCosts[row + a];
+            for (int b = 0; b < s; b++) {
+                if (b != a) exchange[a * s + b].push(typeCosts[row + b] - base, k);
+            }
+        }
+
+        /** @return cheapest type still present at {@code a} for moving to {@code b}, or -1 */
+        private int peekValid(int a, int b) {
+            LongHeap h = exchange[a * s + b];
+            while (!h.isEmpty()) {
+                int k = h.peekType();
+                if (count[k * s + a] > 0) return k;  // entries of types that moved on are stale
+                h.pop();
+            }
+            return -1;
+        }
+
+        /** Hands each type's service counts out to its volunteers in snapshot order. */
+        private int[] expand() {
+            int[] typeOf = types.typeOf();
+            int[] assign = new int[typeOf.length];
+            int[] cursor = new int[t];
+            for (int u = 0; u < assign.length; u++) {
+                int row = typeOf[u] * s;
+                int a = cursor[typeOf[u]];
+                while (count[row + a] == 0) a++;
+                count[row + a]--;
+                cursor[typeOf[u]] = a;
+                assign[u] = a;
+            }
+            return assign;
+        }
+    }
+
+    /**
+     * Primitive binary min-heap of (delta, type) pairs packed into longs,
+     * avoiding boxing for the heap entries of a solve.
+     */
+    private static final class LongHeap {
+        private long[] a = new long[4];
+        private int n;
+
+        boolean isEmpty() {
+            return n == 0;
+        }
+
+        void push(int delta, int type) {
+            if (n == a.length) a = Arrays.copyOf(a, n * 2);
+            long x = ((long) delta << 32) | type;  // signed delta orders first
+            int i = n++;
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (a[p] <= x) break;
+                a[i] = a[p];
+                i = p;
+            }
+            a[i] = x;
+        }
+
+        int peekType() {
+            return (int) a[0];
+        }
+
+        void pop() {
+            long x = a[--n];
+            int i = 0;
+            int half = n >>> 1;
+            while (i < half) {
+                int c = 2 * i + 1;
+                if (c + 1 < n && a[c + 1] < a[c]) c++;
+                if (x <= a[c]) break;
+                a[i] = a[c];
+                i = c;
+            }
+            if (n > 0) a[i] = x;
+        }
+    }
+
+    /** Prevents instantiation - this is a utility class. */
+    private MinCostFlow() {}
+}
@@ -0,0 +1,97 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Mutation operators applied in place to an evaluated individual.
+ * <p>
+ * Services are drawn from each volunteer's gene domain (see
+ * {@link ProblemInstance#randomService}) and every change goes through
+ * {@link PopulationArena#setGene}, so fitness, loads and hash stay incremental.
+ * Stateless and thread-safe.
+ */
+public enum Mutation {
+
+    /** Leaves the individual unchanged; selecting it is what makes the mutation rate adaptive. */
+    NONE {
+        @Override
+        void apply(PopulationArena arena, int slot, double escapeRate, ThreadLocalRandom rng) {
+        }
+    },
+
+    /** Moves one random volunteer to a service from their domain. */
+    MOVE {
+        @Override
+        void apply(PopulationArena arena, int slot, double escapeRate, ThreadLocalRandom rng) {
+            arena.mutate(slot, escapeRate);
+        }
+    },
+
+    /** Two random volunteers exchange services, which never changes any load. */
+    SWAP {
+        @Override
+        void apply(PopulationArena arena, int slot, double escapeRate, ThreadLocalRandom rng) {
+            arena.swapGenes(slot, rng.nextInt(arena.volunteers), rng.nextInt(arena.volunteers));
+        }
+    },
+
+    /**
+     * Moves one random volunteer within their domain; if that overfills the service, a
+     * volunteer found there is ejected to their first ranked service with room, and so
+     * on for a few steps, so the move makes room for itself instead of adding overflow.
+     */
+    EJECTION_CHAIN {
+        @Override
+        void apply(PopulationArena arena, int slot, double escapeRate, ThreadLocalRandom rng) {
+            ProblemInstance inst = arena.inst;
+            int[] caps = inst.capacities();
+            int volunteer = rng.nextInt(arena.volunteers);
+            int to = inst.randomService(volunteer, escapeRate, rng);
+            for (int depth = 0; ; depth++) {
+                arena.setGene(slot, volunteer, to);
+                if (depth == MAX_CHAIN || arena.load(slot, to) <= caps[to]) return;
+                volunteer = sampleAt(arena, slot, to, volunteer, rng);
+                if (volunteer < 0) return;
+                to = relocation(arena, slot, volunteer, escapeRate, rng);
+            }
+        }
+    };
+
+    /** Ejections after the initial move of an ejection chain. */
+    private static final int MAX_CHAIN = 4;
+
+    /** Random volunteers inspected when looking for one assigned to a given service. */
+    private static final int EJECTION_SAMPLES = 32;
+
+    /**
+     * Alters the individual in place.
+     *
+     * @param arena storage holding the individual
+     * @param slot occupied slot
+     * @param escapeRate probability of drawing a service outside the volunteer's ranked ones
+     * @param rng source of randomness
+     */
+    abstract void apply(PopulationArena arena, int slot, double escapeRate, ThreadLocalRandom rng);
+
+    /** @return a random volunteer other than {@code moved} assigned to {@code svc}, or -1 */
+    private static int sampleAt(PopulationArena arena, int slot, int svc, int moved, ThreadLocalRandom rng) {
+        for (int k = 0; k < EJECTION_SAMPLES; k++) {
+            int u = rng.nextInt(arena.volunteers);
+            if (u != moved && arena.gene(slot, u) == svc) return u;
+        }
+        return -1;
+    }
+
+    /** @return first ranked service of the volunteer with free capacity, else a domain sample */
+    private static int relocation(PopulationArena arena, int slot, int volunteer,
+                                      double escapeRate, ThreadLocalRandom rng) {
+        int current = arena.gene(slot, volunteer);
+        int[] caps = arena.inst.capacities();
+        for (int svc : arena.inst.rankedServices()[volunteer]) {
+            if (svc != current && arena.load(slot, svc) < caps[svc]) return svc;
+        }
+        return arena.inst.randomService(volunteer, escapeRate, rng);
+    }
+}
@@ -0,0 +1,93 @@
+package org.volunteer.server.util;
+
+import java.util.Arrays;
+
+/**
+ * Variation operators an {@link Island} breeds with and the policy that picks them.
+ * <p>
+ * Every child is produced by one {@link Crossover} followed by one {@link Mutation},
+ * where {@link Mutation#NONE} leaves it unmutated. With fixed selection the classic
+ * operators are used: single-point crossover always, and a domain {@link Mutation#MOVE}
+ * with the configured mutation rate. With adaptive selection each island runs
+ * {@link AdaptivePursuit} over both operator sets, rewarding the pair that bred a child
+ * with the child's improvement over its better parent per nanosecond spent on
+ * variation. Operators that pay off on the current instance and stage of the run are
+ * therefore used more, and since {@link Mutation#NONE} competes with the mutations the
+ * mutation rate adapts as well. Immutable and thread-safe.
+ */
+public final class Operators {
+
+    private static final Crossover[] CROSSOVERS = Crossover.values();
+    private static final Mutation[] MUTATIONS = Mutation.values();
+
+    private final double mutationRate;
+    private final double domainEscape;
+    private final boolean adaptive;
+    private final double learningRate;
+    private final double minProbability;
+
+    /**
+     * @param mutationRate probability of mutating a child; with adaptive selection the
+     *                     starting probability of mutating [0.0-1.0]
+     * @param domainEscape probability that a mutation ignores the volunteer's ranked services [0.0-1.0]
+     * @param adaptive whether operators are chosen by adaptive pursuit
+     * @param learningRate adaptation speed of the pursuit [0.0-1.0]
+     * @param minProbability probability floor of every operator under adaptive selection
+     */
+    public Operators(double mutationRate, double domainEscape, boolean adaptive,
+                     double learningRate, double minProbability) {
+        this.mutationRate = mutationRate;
+        this.domainEscape = domainEscape;
+        this.adaptive = adaptive;
+        this.learningRate = adaptive ? learningRate : 0.0;
+        this.minProbability = Math.min(minProbability, 0.5 / Math.max(CROSSOVERS.length, MUTATIONS.length));
+    }
+
+    /** @return whether operators are chosen by adaptive pursuit */
+    public boolean adaptive() {
+        return adaptive;
+    }
+
+    /** @return probability that a mutation ignores the volunteer's ranked services */
+    double domainEscape() {
+        return domainEscape;
+    }
+
+    /** @return crossover operator for an arm of {@link #crossoverPolicy()} */
+    static Crossover crossover(int arm) {
+        return CROSSOVERS[arm];
+    }
+
+    /** @return mutation operator for an arm of {@link #mutationPolicy()} */
+    static Mutation mutation(int arm) {
+        return MUTATIONS[arm];
+    }
+
+    /** @return new crossover selection state for one island */
+    AdaptivePursuit crossoverPolicy() {
+        double[] p = new double[CROSSOVERS.length];
+        if (adaptive) {
+            Arrays.fill(p, 1.0 / p.length);
+        } else {
+            p[Crossover.SINGLE_POINT.ordinal()] = 1.0;
+        }
+        return new AdaptivePursuit(p, learningRate, minProbability);
+    }
+
+    /**
+     * @return new mutation selection state for one island, starting from the configured
+     *         mutation rate spread evenly over the mutations
+     */
+    AdaptivePursuit mutationPolicy() {
+        double[] p = new double[MUTATIONS.length];
+        p[Mutation.NONE.ordinal()] = 1.0 - mutationRate;
+        if (adaptive) {
+            for (Mutation m : MUTATIONS) {
+                if (m != Mutation.NONE) p[m.ordinal()] = mutationRate / (p.length - 1);
+            }
+        } else {
+            p[Mutation.MOVE.ordinal()] = mutationRate;
+        }
+        return new AdaptivePursuit(p, learningRate, minProbability);
+    }
+}
@@ -0,0 +1,410 @@
+package org.volunteer.server.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Fixed-capacity storage for the individuals of one GA population.
+ * <p>
+ * Instead of one object and array per individual, every individual lives in a numbered
+ * slot of flat primitive buffers: genes ({@code slot * volunteers + volunteer}),
+ * per-service loads ({@code slot * services + service}), fitness and a Zobrist hash of
+ * the genes (see {@link DuplicateCache}). Slots of evicted
+ * individuals go back on a free list and are reused for the next child, so breeding,
+ * mutation, local search and replacement allocate nothing once the arena exists.
+ * <p>
+ * Genes are stored as unsigned bytes, unsigned shorts or ints depending on the service
+ * count (see {@link #create}), so typical catalogs need a quarter of the gene memory
+ * and fitness scans touch a quarter of the cache lines. Each width is a specialised
+ * subclass; a process normally only instantiates one, which keeps gene access monomorphic.
+ * <p>
+ * An arena is bound to one {@link ProblemInstance}; every occupied slot holds an
+ * evaluated individual whose fitness and loads are kept current by the operators.
+ * Not thread-safe, with one exception: while no slot is acquired or released, threads
+ * may write distinct slots concurrently and read slots nobody writes, since slots share
+ * no mutable state. Randomness comes from {@link ThreadLocalRandom}.
+ */
+public abstract sealed class PopulationArena {
+
+    /** Fewest volunteers an arena holds, as single-point crossover draws its cut from {@code [1, volunteers - 2]}. */
+    public static final int MIN_VOLUNTEERS = 3;
+
+    /** Largest service count whose indices fit in an unsigned byte. */
+    static final int BYTE_SERVICES = 1 << Byte.SIZE;
+
+    /** Largest service count whose indices fit in an unsigned short. */
+    static final int SHORT_SERVICES = 1 << Short.SIZE;
+
+    final ProblemInstance inst;
+    final FitnessEvaluator evaluator;
+    final int volunteers;
+    final int services;
+    private final int[] loads;
+    private final double[] fitness;
+    private final long[] hashes;
+
+    /** Stack of unoccupied slots; the lowest slot is handed out first. */
+    private final int[] free;
+    private int freeCount;
+
+    private PopulationArena(ProblemInstance inst, int capacity, FitnessEvaluator evaluator) {
+        this.inst = inst;
+        this.evaluator = evaluator;
+        this.volunteers = inst.volunteerCount();
+        this.services = inst.serviceCount();
+        this.loads = new int[capacity * services];
+        this.fitness = new double[capacity];
+        this.hashes = new long[capacity];
+        this.free = new int[capacity];
+        for (int i = 0; i < capacity; i++) free[i] = capacity - 1 - i;
+        this.freeCount = capacity;
+    }
+
+    /**
+     * Creates an empty arena with the narrowest gene width that holds every service index.
+     * @param inst problem context every individual is evaluated against
+     * @param capacity number of slots
+     * @param evaluator full fitness scan used when individuals are evaluated from scratch
+     * @return byte, short or int backed arena
+     * @throws IllegalArgumentException if the instance has fewer than {@value #MIN_VOLUNTEERS} volunteers
+     */
+    public static PopulationArena create(ProblemInstance inst, int capacity, FitnessEvaluator evaluator) {
+        if (inst.volunteerCount() < MIN_VOLUNTEERS) {
+            throw new IllegalArgumentException("Population arena needs at least " + MIN_VOLUNTEERS
+                    + " volunteers, got " + inst.volunteerCount());
+        }
+        int services = inst.serviceCount();
+        if (services <= BYTE_SERVICES) return new ByteArena(inst, capacity, evaluator);
+        if (services <= SHORT_SERVICES) return new ShortArena(inst, capacity, evaluator);
+        return new IntArena(inst, capacity, evaluator);
+    }
+
+    /* ---------- width-specific gene storage ---------- */
+
+    /** @return service index of one volunteer in the slot */
+    public abstract int gene(int slot, int volunteer);
+
+    /** Writes one gene without touching fitness or loads. */
+    abstract void storeGene(int slot, int volunteer, int svc);
+
+    /** Writes a whole gene sequence without touching fitness or loads. */
+    abstract void storeGenes(int slot, int[] src);
+
+    /** Copies the genes of one slot over another's. */
+    abstract void copyGenes(int src, int dst);
+
+    /**
+     * Copies a slot's genes out of the arena, e.g. to publish a result.
+     * @param slot occupied slot
+     * @return new array with one service index per volunteer
+     */
+    public abstract int[] genes(int slot);
+
+    /** Full fitness scan of a slot that also rebuilds its loads. */
+    abstract double scan(int slot, int[] loads, int loadFrom);
+
+    /** @return total number of slots */
+    public int capacity() {
+        return fitness.length;
+    }
+
+    /** @return number of unoccupied slots */
+    public int available() {
+        return freeCount;
+    }
+
+    /**
+     * Takes an unoccupied slot; its contents are stale until written.
+     * @return slot index
+     * @throws IllegalStateException if every slot is occupied
+     */
+    public int acquire() {
+        if (freeCount == 0) throw new IllegalStateException("Population arena is full");
+        return free[--freeCount];
+    }
+
+    /**
+     * Returns a slot to the free list.
+     * @param slot occupied slot that is no longer referenced
+     */
+    public void release(int slot) {
+        free[freeCount++] = slot;
+    }
+
+    /**
+     * Stores and evaluates an assignment in a fresh slot.
+     * @param src service index per volunteer; copied
+     * @return occupied slot
+     */
+    public int add(int[] src) {
+        int slot = acquire();
+        storeGenes(slot, src);
+        evaluate(slot);
+        return slot;
+    }
+
+    /**
+     * Recomputes fitness, loads and hash of a slot with a full gene scan.
+     * @param slot slot whose genes have been written directly
+     */
+    void evaluate(int slot) {
+        fitness[slot] = scan(slot, loads, slot * services);
+        long hash = 0;
+        for (int i = 0; i < volunteers; i++) hash ^= DuplicateCache.key(i, gene(slot, i));
+        hashes[slot] = hash;
+    }
+
+    /**
+     * Copies an individual including its fitness and loads.
+     * @param src occupied source slot
+     * @param dst destination slot
+     */
+    public void copy(int src, int dst) {
+        copyGenes(src, dst);
+        System.arraycopy(loads, src * services, loads, dst * services, services);
+        fitness[dst] = fitness[src];
+        hashes[dst] = hashes[src];
+    }
+
+    /** @return cached fitness of the slot */
+    public double fitness(int slot) {
+        return fitness[slot];
+    }
+
+    /**
+     * @param slot occupied slot
+     * @param svc service index
+     * @return number of volunteers the slot assigns to the service
+     */
+    int load(int slot, int svc) {
+        return loads[slot * services + svc];
+    }
+
+    /** @return Zobrist hash of the slot's genes */
+    public long hash(int slot) {
+        return hashes[slot];
+    }
+
+    /**
+     * Reassigns one volunteer and updates fitness and hash incrementally in O(1).
+     *
+     * @param slot occupied slot
+     * @param volunteer volunteer index
+     * @param svc new service index
+     */
+    public void setGene(int slot, int volunteer, int svc) {
+        int old = gene(slot, volunteer);
+        if (old == svc) return;
+        int l = slot * services;
+        fitness[slot] += FitnessCalculator.moveDelta(volunteer, old, svc, loads, l, inst);
+        loads[l + old]--;
+        loads[l + svc]++;
+        hashes[slot] ^= DuplicateCache.key(volunteer, old) ^ DuplicateCache.key(volunteer, svc);
+        storeGene(slot, volunteer, svc);
+    }
+
+    /**
+     * Evaluates a reassignment without applying it.
+     *
+     * @param slot occupied slot
+     * @param volunteer volunteer index
+     * @param svc candidate service index
+     * @return fitness change {@link #setGene} would cause
+     */
+    double moveDelta(int slot, int volunteer, int svc) {
+        return FitnessCalculator.moveDelta(volunteer, gene(slot, volunteer), svc, loads, slot * services, inst);
+    }
+
+    /**
+     * Exchanges the services of two volunteers, updating fitness incrementally.
+     *
+     * @param slot occupied slot
+     * @param i first volunteer index
+     * @param j second volunteer index
+     */
+    void swapGenes(int slot, int i, int j) {
+        int si = gene(slot, i);
+        setGene(slot, i, gene(slot, j));
+        setGene(slot, j, si);
+    }
+
+    /**
+     * Reassigns one random volunteer to a service from their gene domain, updating
+     * fitness incrementally.
+     *
+     * @param slot occupied slot
+     * @param escapeRate probability of drawing from the whole catalog instead of the
+     *                   volunteer's ranked services, see {@link ProblemInstance#randomService}
+     */
+    public void mutate(int slot, double escapeRate) {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        int volunteer = rng.nextInt(volunteers);
+        setGene(slot, volunteer, inst.randomService(volunteer, escapeRate, rng));
+    }
+
+    /**
+     * Writes the single-point crossover of two evaluated parents into {@code child}.
+     * <p>
+     * The child starts as a copy of the parent contributing the longer segment and
+     * only the differing genes of the shorter segment are applied as deltas, so the
+     * child is evaluated without a full rescan. The cut lies in {@code [1, volunteers - 2]},
+     * which {@link #create} guarantees to be non-empty.
+     *
+     * @param a first parent slot, supplies genes before the cut
+     * @param b second parent slot, supplies genes from the cut onwards
+     * @param child destination slot, distinct from both parents
+     */
+    public void crossover(int a, int b, int child) {
+        int cut = 1 + ThreadLocalRandom.current().nextInt(volunteers - 2);
+        if (cut >= volunteers - cut) {
+            copy(a, child);
+            applySegment(b, child, cut, volunteers);
+        } else {
+            copy(b, child);
+            applySegment(a, child, 0, cut);
+        }
+    }
+
+    /** Copies genes {@code [from, to)} of {@code src} into {@code dst} through incremental updates. */
+    void applySegment(int src, int dst, int from, int to) {
+        for (int i = from; i < to; i++) {
+            setGene(dst, i, gene(src, i));
+        }
+    }
+
+    /* ---------- specialisations ---------- */
+
+    /** Genes as unsigned bytes, for up to {@value #BYTE_SERVICES} services. */
+    private static final class ByteArena extends PopulationArena {
+
+        private final byte[] genes;
+
+        ByteArena(ProblemInstance inst, int capacity, FitnessEvaluator evaluator) {
+            super(inst, capacity, evaluator);
+            this.genes = new byte[capacity * volunteers];
+        }
+
+        @Override
+        public int gene(int slot, int volunteer) {
+            return genes[slot * volunteers + volunteer] & 0xFF;
+        }
+
+        @Override
+        void storeGene(int slot, int volunteer, int svc) {
+            genes[slot * volunteers + volunteer] = (byte) svc;
+        }
+
+        @Override
+        void storeGenes(int slot, int[] src) {
+            int base = slot * volunteers;
+            for (int i = 0; i < volunteers; i++) genes[base + i] = (byte) src[i];
+        }
+
+        @Override
+        void copyGenes(int src, int dst) {
+            System.arraycopy(genes, src * volunteers, genes, dst * volunteers, volunteers);
+        }
+
+        @Override
+        public int[] genes(int slot) {
+            int[] out = new int[volunteers];
+            int base = slot * volunteers;
+            for (int i = 0; i < volunteers; i++) out[i] = genes[base + i] & 0xFF;
+            return out;
+        }
+
+        @Override
+        double scan(int slot, int[] loads, int loadFrom) {
+            return evaluator.totalCost(genes, slot * volunteers, inst, loads, loadFrom);
+        }
+    }
+
+    /** Genes as unsigned shorts, for up to {@value #SHORT_SERVICES} services. */
+    private static final class ShortArena extends PopulationArena {
+
+        private final short[] genes;
+
+        ShortArena(ProblemInstance inst, int capacity, FitnessEvaluator evaluator) {
+            super(inst, capacity, evaluator);
+            this.genes = new short[capacity * volunteers];
+        }
+
+        @Override
+        public int gene(int slot, int volunteer) {
+            return genes[slot * volunteers + volunteer] & 0xFFFF;
+        }
+
+        @Override
+        void storeGene(int slot, int volunteer, int svc) {
+            genes[slot * volunteers + volunteer] = (short) svc;
+        }
+
+        @Override
+        void storeGenes(int slot, int[] src) {
+            int base = slot * volunteers;
+            for (int i = 0; i < volunteers; i++) genes[base + i] = (short) src[i];
+        }
+
+        @Override
+        void copyGenes(int src, int dst) {
+            System.arraycopy(genes, src * volunteers, genes, dst * volunteers, volunteers);
+        }
+
+        @Override
+        public int[] genes(int slot) {
+            int[] out = new int[volunteers];
+            int base = slot * volunteers;
+            for (int i = 0; i < volunteers; i++) out[i] = genes[base + i] & 0xFFFF;
+            return out;
+        }
+
+        @Override
+        double scan(int slot, int[] loads, int loadFrom) {
+            return evaluator.totalCost(genes, slot * volunteers, inst, loads, loadFrom);
+        }
+    }
+
+    /** Genes as ints, for any service count. */
+    private static final class IntArena extends PopulationArena {
+
+        private final int[] genes;
+
+        IntArena(ProblemInstance inst, int capacity, FitnessEvaluator evaluator) {
+            super(inst, capacity, evaluator);
+            this.genes = new int[capacity * volunteers];
+        }
+
+        @Override
+        public int gene(int slot, int volunteer) {
+            return genes[slot * volunteers + volunteer];
+        }
+
+        @Override
+        void storeGene(int slot, int volunteer, int svc) {
+            genes[slot * volunteers + volunteer] = svc;
+        }
+
+        @Override
+        void storeGenes(int slot, int[] src) {
+            System.arraycopy(src, 0, genes, slot * volunteers, volunteers);
+        }
+
+        @Override
+        void copyGenes(int src, int dst) {
+            System.arraycopy(genes, src * volunteers, genes, dst * volunteers, volunteers);
+        }
+
+        @Override
+        public int[] genes(int slot) {
+            int from = slot * volunteers;
+            return Arrays.copyOfRange(genes, from, from + volunteers);
+        }
+
+        @Override
+        double scan(int slot, int[] loads, int loadFrom) {
+            return evaluator.totalCost(genes, slot * volunteers, inst, loads, loadFrom);
+        }
+    }
+}
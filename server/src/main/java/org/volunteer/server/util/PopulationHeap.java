@@ -0,0 +1,105 @@
+package org.volunteer.server.util;
+
+/**
+ * Fixed-size GA population kept as an array-backed binary max-heap on fitness.
+ * <p>
+ * Members are slots of a {@link PopulationArena}. The worst (highest cost) member sits
+ * at the root, so replace-worst is a single O(log P) sift-down instead of a full sort.
+ * Members stay addressable by index for uniform random selection, and the best member
+ * is tracked on every replacement. Not thread-safe.
+ */
+public final class PopulationHeap {
+
+    private final PopulationArena arena;
+    private final int[] heap;
+    private int best;
+
+    /**
+     * Builds the heap in O(P) from the occupied slots {@code [0, size)} of the arena.
+     * @param arena storage holding the evaluated members
+     * @param size number of members; must be positive
+     */
+    public PopulationHeap(PopulationArena arena, int size) {
+        this.arena = arena;
+        this.heap = new int[size];
+        for (int i = 0; i < size; i++) heap[i] = i;
+        heapify();
+    }
+
+    /**
+     * Replaces every member at once and rebuilds heap order in O(P).
+     * @param slots evaluated arena slots; the first {@link #size()} are taken
+     */
+    public void reset(int[] slots) {
+        System.arraycopy(slots, 0, heap, 0, heap.length);
+        heapify();
+    }
+
+    private void heapify() {
+        best = heap[0];
+        for (int slot : heap) {
+            if (arena.fitness(slot) < arena.fitness(best)) best = slot;
+        }
+        for (int i = heap.length / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /** @return population size */
+    public int size() {
+        return heap.length;
+    }
+
+    /**
+     * Random access for selection operators; heap order is not meaningful to callers.
+     * @param i position in [0, size)
+     * @return slot of the member at the position
+     */
+    public int get(int i) {
+        return heap[i];
+    }
+
+    /** @return slot of the member with the highest (worst) fitness */
+    public int worst() {
+        return heap[0];
+    }
+
+    /** @return slot of the member with the lowest (best) fitness */
+    public int best() {
+        return best;
+    }
+
+    /**
+     * Evicts the worst member in favour of {@code slot} and restores heap order in O(log P).
+     * @param slot evaluated arena slot to insert
+     * @return slot of the evicted member, now unreferenced by the heap
+     */
+    public int replaceWorst(int slot) {
+        int evicted = heap[0];
+        heap[0] = slot;
+        siftDown(0);
+
+        if (arena.fitness(slot) < arena.fitness(best)) {
+            best = slot;
+        } else if (evicted == best) {
+            // Best was also worst: every survivor ties with it and slot stayed at the root
+            best = heap.length > 1 ? heap[heap.length - 1] : slot;
+        }
+        return evicted;
+    }
+
+    private void siftDown(int i) {
+        int x = heap[i];
+        double fx = arena.fitness(x);
+        int half = heap.length >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < heap.length && arena.fitness(heap[right]) > arena.fitness(heap[child])) child = right;
+            if (fx >= arena.fitness(heap[child])) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = x;
+    }
+}
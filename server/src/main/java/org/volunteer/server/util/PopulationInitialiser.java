@@ -0,0 +1,105 @@
+package org.volunteer.server.util;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Builds evaluated initial populations from a configurable mix of sources.
+ * <p>
+ * Members resumed from an interrupted run's checkpoint come first. The rest of a
+ * population is assembled in three parts: members seeded from a warm-start
+ * assignment (when one is available), random members for diversity, drawn from each
+ * volunteer's gene domain (see {@link ProblemInstance#randomService}), and
+ * the remainder produced by cycling through the configured heuristic strategies.
+ * Immutable and thread-safe; islands may share one instance.
+ */
+public final class PopulationInitialiser {
+
+    private final List<InitialisationStrategy> heuristics;
+    private final double randomShare;
+    private final double warmStartShare;
+    private final double domainEscape;
+    private final FitnessEvaluator evaluator;
+
+    /**
+     * @param heuristics strategies cycled through for the heuristic part; empty means all random
+     * @param randomShare fraction of each population that is random [0.0-1.0]
+     * @param warmStartShare fraction seeded from a warm start when one is given [0.0-1.0]
+     * @param domainEscape probability that a random gene ignores the volunteer's ranked
+     *                     services; 1.0 samples the whole catalog uniformly
+     * @param evaluator full fitness scan of the created arenas
+     */
+    public PopulationInitialiser(List<InitialisationStrategy> heuristics,
+                                 double randomShare,
+                                 double warmStartShare,
+                                 double domainEscape,
+                                 FitnessEvaluator evaluator) {
+        this.heuristics = List.copyOf(heuristics);
+        this.randomShare = heuristics.isEmpty() ? 1.0 : randomShare;
+        this.warmStartShare = warmStartShare;
+        this.domainEscape = domainEscape;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Creates and evaluates an initial population in a new arena.
+     * <p>
+     * The first warm-started member is an exact copy of {@code warmStart}; the others
+     * each carry one random mutation to keep some diversity around it.
+     *
+     * @param inst problem constraints and preferences
+     * @param popSize number of individuals to create; they occupy slots {@code [0, popSize)}
+     * @param spareSlots additional free slots the caller breeds into
+     * @param warmStart genes remapped onto this instance, or null
+     * @return arena holding the evaluated population
+     */
+    public PopulationArena create(ProblemInstance inst, int popSize, int spareSlots, int[] warmStart) {
+        return create(inst, popSize, spareSlots, warmStart, List.of());
+    }
+
+    /**
+     * Creates an initial population that starts with resumed members and is completed
+     * as {@link #create(ProblemInstance, int, int, int[])} would.
+     *
+     * @param inst problem constraints and preferences
+     * @param popSize number of individuals to create; they occupy slots {@code [0, popSize)}
+     * @param spareSlots additional free slots the caller breeds into
+     * @param warmStart genes remapped onto this instance, or null
+     * @param resumed members of an interrupted run remapped onto this instance; at most
+     *                {@code popSize} are used
+     * @return arena holding the evaluated population
+     */
+    public PopulationArena create(ProblemInstance inst, int popSize, int spareSlots, int[] warmStart,
+                                  List<int[]> resumed) {
+        PopulationArena arena = PopulationArena.create(inst, popSize + spareSlots, evaluator);
+        int kept = Math.min(popSize, resumed.size());
+        for (int i = 0; i < kept; i++) arena.add(resumed.get(i));
+        popSize -= kept;
+
+        int seeded = warmStart == null || popSize == 0 ? 0
+                : Math.min(popSize, Math.max(1, (int) Math.round(popSize * warmStartShare)));
+        int random = Math.min(popSize - seeded, (int) Math.round(popSize * randomShare));
+        for (int i = 0; i < popSize; i++) {
+            int slot;
+            if (i < seeded) {
+                slot = arena.add(warmStart);
+            } else if (i < seeded + random) {
+                slot = arena.add(randomInDomains(inst));
+            } else {
+                int h = (i - seeded - random) % heuristics.size();
+                slot = arena.add(heuristics.get(h).create(inst));
+            }
+            if (i > 0 && i < seeded) arena.mutate(slot, domainEscape);
+        }
+        return arena;
+    }
+
+    private int[] randomInDomains(ProblemInstance inst) {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        int[] genes = new int[inst.volunteerCount()];
+        for (int v = 0; v < genes.length; v++) genes[v] = inst.randomService(v, domainEscape, rng);
+        return genes;
+    }
+}
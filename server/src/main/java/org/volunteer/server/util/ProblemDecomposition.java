@@ -0,0 +1,270 @@
+package org.volunteer.server.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.volunteer.server.model.ProblemInstance;
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.VolunteerPreference;
+
+/**
+ * Split of a problem instance into independent parts along the connected components of
+ * its preference graph.
+ * <p>
+ * Volunteers and the services they ranked form a bipartite graph whose connected
+ * components are found by union-find over the preference lists. Outside their own
+ * component a volunteer can only be placed at the unranked penalty, so a component with
+ * room for all of its volunteers can be optimised on its own services and the results
+ * merged. Merged optima are globally optimal unless pushing a volunteer out to an unranked
+ * seat elsewhere would let others move up by more than that penalty, which 10 × Ns² makes
+ * rare. Components are packed largest first into a bounded number of balanced parts, each
+ * solved as its own {@link ProblemInstance}. Volunteers who ranked no catalog service cost
+ * the same anywhere and are seated in leftover capacity when merging. Immutable.
+ */
+public final class ProblemDecomposition {
+
+    /** Fewest volunteers a part may have, as the GA needs; smaller parts are folded into others. */
+    static final int MIN_PART_VOLUNTEERS = PopulationArena.MIN_VOLUNTEERS;
+
+    /**
+     * One independently solvable sub-problem.
+     *
+     * @param inst instance over the part's volunteers and services only
+     * @param volunteers global index of each local volunteer, ascending
+     * @param services global index of each local service, ascending
+     */
+    public record Part(ProblemInstance inst, int[] volunteers, int[] services) {
+
+        /**
+         * Maps a whole-instance assignment onto this part, e.g. to warm-start its solve.
+         * Volunteers assigned outside the part start at their first ranked service.
+         *
+         * @param genes service index per volunteer of the whole instance, or null
+         * @return local service index per local volunteer, or null
+         */
+        public int[] restrict(int[] genes) {
+            if (genes == null) return null;
+            int[] local = new int[volunteers.length];
+            for (int i = 0; i < local.length; i++) {
+                int svc = Arrays.binarySearch(services, genes[volunteers[i]]);
+                local[i] = svc >= 0 ? svc : inst.rankedServices()[i][0];
+            }
+            return local;
+        }
+
+        /**
+         * @param genes local service index per local volunteer
+         * @return whether the assignment exceeds a capacity of the part, i.e. the part
+         *         could not be solved without help from the rest of the instance
+         */
+        public boolean overflows(int[] genes) {
+            int[] load = new int[services.length];
+            for (int svc : genes) load[svc]++;
+            for (int s = 0; s < load.length; s++) {
+                if (load[s] > inst.capacities()[s]) return true;
+            }
+            return false;
+        }
+    }
+
+    private final ProblemInstance inst;
+    private final List<Part> parts;
+
+    private ProblemDecomposition(ProblemInstance inst, List<Part> parts) {
+        this.inst = inst;
+        this.parts = parts;
+    }
+
+    /**
+     * Finds the independent components of an instance and packs them into parts.
+     * <p>
+     * The instance stays whole (a single part is reported as not decomposed) when it is
+     * connected, when some component lacks capacity for its own volunteers, or when the
+     * catalog as a whole cannot seat everyone, since volunteers would then compete for
+     * seats across components.
+     *
+     * @param inst problem to split
+     * @param maxParts upper bound on the number of parts, e.g. the solver parallelism
+     * @return decomposition of the instance
+     */
+    public static ProblemDecomposition of(ProblemInstance inst, int maxParts) {
+        int v = inst.volunteerCount();
+        int s = inst.serviceCount();
+        int[] caps = inst.capacities();
+
+        int[] parent = new int[v + s];
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+        for (int u = 0; u < v; u++) {
+            for (int svc : inst.rankedServices()[u]) union(parent, u, v + svc);
+        }
+
+        // Volunteer and capacity totals per component root
+        int[] volunteers = new int[v + s];
+        long[] capacity = new long[v + s];
+        long totalCapacity = 0;
+        for (int u = 0; u < v; u++) {
+            if (inst.rankedServices()[u].length > 0) volunteers[find(parent, u)]++;
+        }
+        for (int svc = 0; svc < s; svc++) {
+            capacity[find(parent, v + svc)] += caps[svc];
+            totalCapacity += caps[svc];
+        }
+
+        List<Integer> roots = new ArrayList<>();
+        for (int r = 0; r < v + s; r++) {
+            if (volunteers[r] == 0) continue;
+            if (capacity[r] < volunteers[r]) return whole(inst);
+            roots.add(r);
+        }
+        if (totalCapacity < v || roots.size() < 2 || maxParts < 2) return whole(inst);
+
+        // Largest component first onto the lightest part
+        roots.sort(Comparator.comparingInt((Integer r) -> volunteers[r]).reversed());
+        int partCount = Math.min(maxParts, roots.size());
+        int[] partOf = new int[v + s];
+        int[] size = new int[partCount];
+        for (int r : roots) {
+            int lightest = 0;
+            for (int p = 1; p < partCount; p++) if (size[p] < size[lightest]) lightest = p;
+            partOf[r] = lightest;
+            size[lightest] += volunteers[r];
+        }
+        partCount = foldSmallParts(partOf, roots, size, partCount);
+        if (partCount < 2) return whole(inst);
+
+        List<List<Integer>> partVolunteers = new ArrayList<>();
+        List<List<Integer>> partServices = new ArrayList<>();
+        for (int p = 0; p < partCount; p++) {
+            partVolunteers.add(new ArrayList<>());
+            partServices.add(new ArrayList<>());
+        }
+        for (int u = 0; u < v; u++) {
+            if (inst.rankedServices()[u].length > 0) partVolunteers.get(partOf[find(parent, u)]).add(u);
+        }
+        for (int svc = 0; svc < s; svc++) {
+            int r = find(parent, v + svc);
+            if (volunteers[r] > 0) partServices.get(partOf[r]).add(svc);
+        }
+
+        List<Part> parts = new ArrayList<>(partCount);
+        for (int p = 0; p < partCount; p++) {
+            parts.add(part(inst, partVolunteers.get(p), partServices.get(p)));
+        }
+        return new ProblemDecomposition(inst, List.copyOf(parts));
+    }
+
+    /**
+     * Folds parts below {@link #MIN_PART_VOLUNTEERS} into the next smallest part and
+     * renumbers the survivors densely.
+     *
+     * @return number of remaining parts
+     */
+    private static int foldSmallParts(int[] partOf, List<Integer> roots, int[] size, int partCount) {
+        int[] target = new int[partCount];
+        for (int p = 0; p < partCount; p++) target[p] = p;
+        int alive = partCount;
+        while (alive > 1) {
+            int smallest = -1;
+            int next = -1;
+            for (int p = 0; p < partCount; p++) {
+                if (target[p] != p) continue;
+                if (smallest < 0 || size[p] < size[smallest]) {
+                    next = smallest;
+                    smallest = p;
+                } else if (next < 0 || size[p] < size[next]) {
+                    next = p;
+                }
+            }
+            if (size[smallest] >= MIN_PART_VOLUNTEERS) break;
+            target[smallest] = next;
+            size[next] += size[smallest];
+            alive--;
+        }
+
+        int[] dense = new int[partCount];
+        int n = 0;
+        for (int p = 0; p < partCount; p++) {
+            if (target[p] == p) dense[p] = n++;
+        }
+        for (int r : roots) {
+            int p = partOf[r];
+            while (target[p] != p) p = target[p];
+            partOf[r] = dense[p];
+        }
+        return n;
+    }
+
+    private static Part part(ProblemInstance inst, List<Integer> volunteers, List<Integer> services) {
+        List<VolunteerPreference> prefs = new ArrayList<>(volunteers.size());
+        for (int u : volunteers) prefs.add(inst.volunteers().get(u));
+        List<ServiceMeta> catalog = new ArrayList<>(services.size());
+        for (int svc : services) catalog.add(inst.services().get(svc));
+        return new Part(ProblemInstance.of(prefs, catalog, inst.preferencePenalty()),
+                volunteers.stream().mapToInt(Integer::intValue).toArray(),
+                services.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static ProblemDecomposition whole(ProblemInstance inst) {
+        return new ProblemDecomposition(inst, List.of());
+    }
+
+    /** @return whether the instance was split into two or more parts */
+    public boolean decomposed() {
+        return !parts.isEmpty();
+    }
+
+    /** @return independently solvable parts; empty if the instance was not decomposed */
+    public List<Part> parts() {
+        return parts;
+    }
+
+    /**
+     * Combines part assignments into an assignment of the whole instance. Volunteers
+     * outside every part (no ranked catalog service) fill the remaining free seats.
+     *
+     * @param partGenes local assignment of each part, in {@link #parts()} order
+     * @return service index per volunteer of the whole instance
+     */
+    public int[] merge(List<int[]> partGenes) {
+        int v = inst.volunteerCount();
+        int s = inst.serviceCount();
+        int[] genes = new int[v];
+        boolean[] placed = new boolean[v];
+        int[] load = new int[s];
+        for (int p = 0; p < parts.size(); p++) {
+            Part part = parts.get(p);
+            int[] local = partGenes.get(p);
+            for (int i = 0; i < local.length; i++) {
+                int svc = part.services()[local[i]];
+                genes[part.volunteers()[i]] = svc;
+                placed[part.volunteers()[i]] = true;
+                load[svc]++;
+            }
+        }
+
+        int spare = 0;
+        for (int u = 0; u < v; u++) {
+            if (placed[u]) continue;
+            while (spare < s - 1 && load[spare] >= inst.capacities()[spare]) spare++;
+            genes[u] = spare;
+            load[spare]++;
+        }
+        return genes;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];  // path halving
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra != rb) parent[ra] = rb;
+    }
+}
@@ -0,0 +1,284 @@
+package org.volunteer.server.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.VolunteerPreference;
+
+/**
+ * Last assignment published for an event, kept current between full solves by placing
+ * each changed volunteer with a bounded ejection chain.
+ * <p>
+ * The assignment is held as volunteer ID → service plus the inverted index service →
+ * volunteers, so a full service's occupants are found without scanning everyone. A
+ * changed or new volunteer goes to their best ranked service with room or, if a better
+ * ranked service is full, into it while one of its occupants moves on to a service with
+ * room, and so on up to a maximum chain depth. The cheapest such placement under the
+ * solver's cost model (rank², unranked penalty × Ns², overflow last) wins. The search
+ * expands a bounded number of occupants, so a placement costs microseconds to a few
+ * milliseconds whatever the event size. Volunteers placed this way are remembered until
+ * a published full result covers their current preferences, and are placed again on top
+ * of results computed from older snapshots. Thread-safe; all methods lock the instance.
+ */
+public final class PublishedAssignment {
+
+    private final int preferencePenalty;
+    private final int maxDepth;
+    private final int budget;
+
+    private List<ServiceMeta> services = List.of();
+    private Map<String, Integer> serviceIndex = Map.of();
+    private List<Set<String>> occupants = List.of();
+    private final Map<String, Seat> seats = new HashMap<>();
+
+    /** Volunteers placed here whose current preferences no published result has covered. */
+    private final Map<String, VolunteerPreference> unsolved = new HashMap<>();
+
+    /** Occupants the current placement may still inspect. */
+    private int expansions;
+
+    /**
+     * @param preferencePenalty multiplier applied to unranked assignments, as in {@link org.volunteer.server.model.ProblemInstance}
+     * @param maxDepth most services a chain may pass through, counting the one the volunteer enters
+     * @param budget most occupants inspected per placement
+     */
+    public PublishedAssignment(int preferencePenalty, int maxDepth, int budget) {
+        this.preferencePenalty = preferencePenalty;
+        this.maxDepth = Math.max(1, maxDepth);
+        this.budget = Math.max(1, budget);
+    }
+
+    /**
+     * Replaces the assignment with a solver result and places again every volunteer
+     * whose preferences changed after the result's snapshot was taken.
+     *
+     * @param snapshot preferences the result was computed for, in gene order
+     * @param catalog services the result was computed for
+     * @param genes service index per volunteer of the snapshot
+     */
+    public synchronized void publish(List<VolunteerPreference> snapshot, List<ServiceMeta> catalog, int[] genes) {
+        services = catalog;
+        serviceIndex = new HashMap<>(catalog.size() * 2);
+        occupants = new ArrayList<>(catalog.size());
+        for (int s = 0; s < catalog.size(); s++) {
+            serviceIndex.put(catalog.get(s).id(), s);
+            occupants.add(new LinkedHashSet<>());
+        }
+        seats.clear();
+        for (int i = 0; i < genes.length; i++) {
+            VolunteerPreference vp = snapshot.get(i);
+            seats.put(vp.volunteerId(), new Seat(vp, ranks(vp), genes[i]));
+            occupants.get(genes[i]).add(vp.volunteerId());
+        }
+
+        unsolved.values().removeIf(vp -> {
+            Seat seat = seats.get(vp.volunteerId());
+            return seat != null && seat.vp.equals(vp);
+        });
+        for (VolunteerPreference vp : unsolved.values()) seat(vp);
+    }
+
+    /**
+     * Places a changed or new volunteer into the published assignment.
+     *
+     * @param vp the volunteer's current preferences
+     * @param catalog the event's current services
+     * @return false if nothing was placed because no result has been published yet or
+     *         it was computed for a different catalog
+     */
+    public synchronized boolean place(VolunteerPreference vp, List<ServiceMeta> catalog) {
+        if (seats.isEmpty() || catalog != services) return false;
+        unsolved.put(vp.volunteerId(), vp);
+        seat(vp);
+        return true;
+    }
+
+    /** @return current service of every volunteer, ordered by volunteer ID */
+    public synchronized SortedMap<String, ServiceMeta> assignments() {
+        SortedMap<String, ServiceMeta> out = new TreeMap<>();
+        seats.forEach((id, seat) -> out.put(id, services.get(seat.svc)));
+        return out;
+    }
+
+    /** Moves a volunteer to the cheapest placement found, applying its ejection chain. */
+    private void seat(VolunteerPreference vp) {
+        Seat old = seats.remove(vp.volunteerId());
+        if (old != null) occupants.get(old.svc).remove(vp.volunteerId());
+
+        Seat seat = new Seat(vp, ranks(vp), -1);
+        expansions = budget;
+        boolean[] onPath = new boolean[services.size()];
+        int target = -1;
+        long best = Long.MAX_VALUE;
+        List<Move> chain = List.of();
+
+        for (int r = 0; r < seat.ranks.length; r++) {
+            int svc = seat.ranks[r];
+            if (!ranksAt(seat, svc, r)) continue;
+            if ((long) r * r >= best) break;
+            if (hasRoom(svc)) {
+                target = svc;
+                best = (long) r * r;
+                chain = List.of();
+                break;
+            }
+            if (maxDepth < 2) continue;
+            onPath[svc] = true;
+            Chain evicted = evict(svc, maxDepth - 1, onPath);
+            onPath[svc] = false;
+            if (evicted != null && r * r + evicted.delta < best) {
+                target = svc;
+                best = r * r + evicted.delta;
+                chain = evicted.moves;
+            }
+        }
+        int spare = spare(onPath);
+        if (spare >= 0 && cost(seat, spare) < best) {
+            target = spare;
+            chain = List.of();
+        }
+        if (target < 0) {
+            // No room anywhere: overflow the first preference, as the solver would
+            target = firstRanked(seat);
+        }
+
+        seat.svc = target;
+        seats.put(vp.volunteerId(), seat);
+        occupants.get(target).add(vp.volunteerId());
+        for (Move move : chain) {
+            Seat u = seats.get(move.volunteerId());
+            occupants.get(u.svc).remove(move.volunteerId());
+            u.svc = move.to();
+            occupants.get(move.to()).add(move.volunteerId());
+        }
+    }
+
+    /**
+     * Finds the cheapest way to move one occupant out of a full service, to a service
+     * with room or recursively into another full service.
+     *
+     * @param svc full service, already marked on the path
+     * @param depth further services the chain may enter
+     * @param onPath services the chain already passes through
+     * @return cheapest chain found within depth and budget, or null
+     */
+    private Chain evict(int svc, int depth, boolean[] onPath) {
+        Chain best = null;
+        int spare = spare(onPath);
+        for (String id : occupants.get(svc)) {
+            if (expansions-- <= 0) break;
+            Seat u = seats.get(id);
+            int current = cost(u, svc);
+
+            for (int r = 0; r < u.ranks.length; r++) {
+                int t = u.ranks[r];
+                if (!ranksAt(u, t, r) || onPath[t]) continue;
+                int delta = r * r - current;
+                if (best != null && delta >= best.delta) break;
+                if (hasRoom(t)) {
+                    best = new Chain(delta, List.of(new Move(id, t)));
+                    break;
+                }
+                if (depth < 2) continue;
+                onPath[t] = true;
+                Chain next = evict(t, depth - 1, onPath);
+                onPath[t] = false;
+                if (next != null && (best == null || delta + next.delta < best.delta)) {
+                    List<Move> moves = new ArrayList<>(next.moves.size() + 1);
+                    moves.add(new Move(id, t));
+                    moves.addAll(next.moves);
+                    best = new Chain(delta + next.delta, moves);
+                }
+            }
+            if (spare >= 0) {
+                int delta = cost(u, spare) - current;
+                if (best == null || delta < best.delta) best = new Chain(delta, List.of(new Move(id, spare)));
+            }
+        }
+        return best;
+    }
+
+    /** @return first service with room that is not on the path, or -1 */
+    private int spare(boolean[] onPath) {
+        for (int s = 0; s < occupants.size(); s++) {
+            if (!onPath[s] && hasRoom(s)) return s;
+        }
+        return -1;
+    }
+
+    private boolean hasRoom(int svc) {
+        return occupants.get(svc).size() < services.get(svc).maxCapacity();
+    }
+
+    /** @return whether rank {@code r} is the volunteer's best rank of the service, i.e. not a missing or repeated ID */
+    private static boolean ranksAt(Seat u, int svc, int r) {
+        if (svc < 0) return false;
+        for (int k = 0; k < r; k++) {
+            if (u.ranks[k] == svc) return false;
+        }
+        return true;
+    }
+
+    private static int firstRanked(Seat u) {
+        for (int svc : u.ranks) {
+            if (svc >= 0) return svc;
+        }
+        return 0;
+    }
+
+    /** @return the solver's cost of assigning the volunteer to the service, without overflow */
+    private int cost(Seat u, int svc) {
+        for (int r = 0; r < u.ranks.length; r++) {
+            if (u.ranks[r] == svc) return r * r;
+        }
+        int ns = u.ranks.length;
+        return preferencePenalty * ns * ns;
+    }
+
+    /** @return catalog index per rank of the volunteer's list, -1 for IDs missing from the catalog */
+    private int[] ranks(VolunteerPreference vp) {
+        List<String> ids = vp.rankedServiceIds();
+        int[] out = new int[ids.size()];
+        for (int r = 0; r < out.length; r++) out[r] = serviceIndex.getOrDefault(ids.get(r), -1);
+        return out;
+    }
+
+    /** A volunteer's preferences and current service. */
+    private static final class Seat {
+
+        final VolunteerPreference vp;
+        final int[] ranks;
+        int svc;
+
+        Seat(VolunteerPreference vp, int[] ranks, int svc) {
+            this.vp = vp;
+            this.ranks = ranks;
+            this.svc = svc;
+        }
+    }
+
+    /**
+     * One step of an ejection chain.
+     *
+     * @param volunteerId occupant that moves
+     * @param to service the occupant moves to
+     */
+    private record Move(String volunteerId, int to) {
+    }
+
+    /**
+     * Moves that free a seat, with their total cost change.
+     *
+     * @param delta sum of the moved occupants' cost changes
+     * @param moves occupants' moves in chain order
+     */
+    private record Chain(int delta, List<Move> moves) {
+    }
+}
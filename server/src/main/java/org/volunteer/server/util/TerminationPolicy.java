@@ -0,0 +1,115 @@
+package org.volunteer.server.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.volunteer.server.model.SolveResult.Termination;
+
+/**
+ * Combination of stopping conditions for an evolutionary run.
+ * <p>
+ * A run stops as soon as any enabled condition holds: the generation cap, a wall-clock
+ * deadline, a stagnation window without improvement of the best fitness, or a target
+ * fitness. Non-positive limits (and a negative target) disable the respective condition,
+ * except that with neither a generation cap nor a deadline the run would never end, so
+ * the cap is then treated as one generation. Immutable and thread-safe; per-run state
+ * lives in {@link Run}.
+ */
+public final class TerminationPolicy {
+
+    private final long maxGenerations;
+    private final long timeBudgetNanos;
+    private final long stagnationWindow;
+    private final double targetFitness;
+
+    /**
+     * @param maxGenerations generation cap; non-positive disables it if a time budget is set
+     * @param timeBudgetMillis wall-clock budget per run; non-positive disables it
+     * @param stagnationWindow generations without improvement before stopping; non-positive disables it
+     * @param targetFitness stop once the best fitness is at or below this; negative disables it
+     */
+    public TerminationPolicy(long maxGenerations, long timeBudgetMillis,
+                             long stagnationWindow, double targetFitness) {
+        this.timeBudgetNanos = timeBudgetMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis) : 0;
+        this.maxGenerations = maxGenerations > 0 ? maxGenerations
+                : timeBudgetNanos > 0 ? Long.MAX_VALUE : 1;
+        this.stagnationWindow = stagnationWindow;
+        this.targetFitness = targetFitness;
+    }
+
+    /** @return per-run tracker whose clock starts now */
+    public Run start() {
+        return new Run(System.nanoTime());
+    }
+
+    /**
+     * Mutable stopping state of one run. {@link #check} is confined to the thread driving
+     * the run; {@link #stopRequested} may be polled from any island thread and
+     * {@link #cancel} called from any thread.
+     */
+    public final class Run {
+        private final long startNanos;
+        private final long deadlineNanos;
+        private double bestFitness = Double.MAX_VALUE;
+        private long lastImprovement;
+        private volatile boolean cancelled;
+
+        private Run(long startNanos) {
+            this.startNanos = startNanos;
+            this.deadlineNanos = startNanos + timeBudgetNanos;
+        }
+
+        /**
+         * Records progress and decides whether to stop.
+         *
+         * @param generation generations completed so far
+         * @param best current best fitness
+         * @return the condition that fired, or null to continue
+         */
+        public Termination check(long generation, double best) {
+            if (best < bestFitness) {
+                bestFitness = best;
+                lastImprovement = generation;
+            }
+            if (targetFitness >= 0 && best <= targetFitness) return Termination.TARGET_FITNESS;
+            if (generation >= maxGenerations) return Termination.GENERATION_CAP;
+            if (pastDeadline()) return Termination.DEADLINE;
+            if (stagnationWindow > 0 && generation - lastImprovement >= stagnationWindow) {
+                return Termination.STAGNATION;
+            }
+            return null;
+        }
+
+        /** @return generations left before the cap, at most {@code limit} */
+        public int remaining(long generation, int limit) {
+            return (int) Math.min(limit, maxGenerations - generation);
+        }
+
+        /**
+         * Asks every island of the run to stop at its next generation boundary.
+         * Idempotent and safe to call from any thread.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /** @return whether {@link #cancel} has been called */
+        public boolean cancelled() {
+            return cancelled;
+        }
+
+        /** @return whether breeding should stop: the run was cancelled or is past its deadline */
+        public boolean stopRequested() {
+            return cancelled || pastDeadline();
+        }
+
+        /** @return whether the time budget is enabled and exhausted */
+        public boolean pastDeadline() {
+            return timeBudgetNanos > 0 && System.nanoTime() - deadlineNanos >= 0;
+        }
+
+        /** @return milliseconds since the run started */
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.volunteer.server.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.volunteer.server.model.ProblemInstance;
+
+/**
+ * Volunteers of one instance grouped into weighted types by identical preference lists.
+ * <p>
+ * Volunteers who submitted the same ranked service IDs have identical cost rows and are
+ * interchangeable, so solvers can work on type-to-service counts instead of one decision
+ * per volunteer and expand the counts back afterwards. At real events many volunteers
+ * submit the same list, so there are usually far fewer types than volunteers. Immutable;
+ * the arrays must be treated as read-only.
+ *
+ * @param typeOf type index per volunteer
+ * @param weights number of volunteers per type
+ * @param representatives first volunteer of each type, whose cost row stands for the type
+ */
+public record VolunteerTypes(int[] typeOf, int[] weights, int[] representatives) {
+
+    /**
+     * Groups the volunteers of an instance in snapshot order.
+     * @param inst problem context
+     * @return types numbered by first occurrence
+     */
+    public static VolunteerTypes of(ProblemInstance inst) {
+        int v = inst.volunteerCount();
+        int[] typeOf = new int[v];
+        int[] weights = new int[v];
+        int[] representatives = new int[v];
+        Map<List<String>, Integer> index = new HashMap<>();
+        for (int u = 0; u < v; u++) {
+            List<String> ranked = inst.volunteers().get(u).rankedServiceIds();
+            Integer known = index.putIfAbsent(ranked, index.size());
+            int t = known != null ? known : index.size() - 1;
+            if (weights[t]++ == 0) representatives[t] = u;
+            typeOf[u] = t;
+        }
+        int types = index.size();
+        return new VolunteerTypes(typeOf, Arrays.copyOf(weights, types), Arrays.copyOf(representatives, types));
+    }
+
+    /** @return number of distinct types */
+    public int count() {
+        return weights.length;
+    }
+}
@@ -1,23 +1,36 @@
 package org.volunteer.server.web.api;
 
+import java.util.List;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.volunteer.server.model.Events;
+import org.volunteer.server.model.ServiceMeta;
 import org.volunteer.server.model.dto.ClientInitResponse;
 import org.volunteer.server.model.dto.PreferenceUpdateRequest;
 import org.volunteer.server.service.ClientService;
 
+import static org.volunteer.server.model.Events.DEFAULT_EVENT;
+
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 
 /**
  * Exposes REST endpoints for client initialization and preference management.
  * <p>
- * Designed to interface with legacy Swing clients through fixed endpoint contracts.
- * Validates incoming requests and delegates business logic to the service layer.
+ * Designed to interface with legacy Swing clients through fixed endpoint contracts,
+ * which address the default event. The same endpoints under {@code /events/{eventId}}
+ * address any other event; IDs not matching {@link Events#ID_PATTERN} are rejected with
+ * 400 Bad Request before any state is created for them. Validates incoming requests and delegates business logic to
+ * the service layer.
  */
 @RestController
 @RequiredArgsConstructor
@@ -35,7 +48,18 @@ public class ClientController {
      */
     @GetMapping("/client/initialize")
     public ClientInitResponse initializeClient() {
-        return clientService.initializeClient();
+        return clientService.initializeClient(DEFAULT_EVENT);
+    }
+
+    /**
+     * Provides initial client state for a client of the given event.
+     *
+     * @param eventId event the client takes part in
+     * @return initialization payload with the event's services
+     */
+    @GetMapping("/events/{eventId}/client/initialize")
+    public ClientInitResponse initializeClient(@PathVariable("eventId") @Pattern(regexp = Events.ID_PATTERN) String eventId) {
+        return clientService.initializeClient(eventId);
     }
 
     /**
@@ -49,7 +73,35 @@ public class ClientController {
      */
     @PostMapping("/preferences")
     public ResponseEntity<Void> updatePreference(@Valid @RequestBody PreferenceUpdateRequest request) {
-        clientService.updatePreference(request);
+        return updatePreference(DEFAULT_EVENT, request);
+    }
+
+    /**
+     * Processes preference updates for the given event.
+     *
+     * @param eventId event the volunteer takes part in
+     * @param request validated preference update payload
+     * @return empty response with 201 status code
+     */
+    @PostMapping("/events/{eventId}/preferences")
+    public ResponseEntity<Void> updatePreference(@PathVariable("eventId") @Pattern(regexp = Events.ID_PATTERN) String eventId,
+                                                 @Valid @RequestBody PreferenceUpdateRequest request) {
+        clientService.updatePreference(eventId, request);
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the services an event offers and re-optimises its assignment.
+     *
+     * @param eventId event to configure
+     * @param services non-empty catalog replacing the event's current one; every service
+     *                 needs a non-blank ID unique within the catalog and a positive capacity
+     * @return empty response with 204 status code, or 400 for an invalid catalog
+     */
+    @PutMapping("/events/{eventId}/services")
+    public ResponseEntity<Void> replaceCatalog(@PathVariable("eventId") @Pattern(regexp = Events.ID_PATTERN) String eventId,
+                                               @RequestBody @NotEmpty List<@Valid ServiceMeta> services) {
+        clientService.replaceCatalog(eventId, services);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,11 +1,18 @@
 package org.volunteer.server.web.websocket;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
@@ -14,29 +21,62 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.volunteer.server.model.Events;
+
+import static org.volunteer.server.model.Events.DEFAULT_EVENT;
+
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 
 /**
  * Manages WebSocket connections for broadcasting assignment updates to clients.
  * <p>
- * Maintains thread-safe tracking of active sessions and provides one-way server-push
- * functionality. Automatically cleans up closed connections. All operations are
- * non-blocking and concurrent session access is supported.
+ * Maintains thread-safe tracking of active sessions per event and provides one-way
+ * server-push functionality: sessions connected to {@code /events/{eventId}} receive that
+ * event's updates, and sessions connected to {@code /} (the legacy client) those of the
+ * default event. Connections to an invalid event ID are closed at once. Automatically
+ * cleans up closed connections, and an event's entries once its last session is gone. All operations are
+ * non-blocking and concurrent session access is supported: payloads are serialised
+ * on the caller's thread and sent in order on a dedicated broadcast thread. Provisional (intermediate)
+ * updates are rate-limited per event; final updates are always sent.
  */
 @Component
 public class PlainAssignmentHandler extends TextWebSocketHandler {
 
-    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, Set<WebSocketSession>> sessions = new ConcurrentHashMap<>();
     private final ObjectMapper mapper = new ObjectMapper();
     private final Logger logger = Logger.getLogger(this.getClass().getName());
 
+    private final ExecutorService sender;
+    private final long provisionalIntervalMillis;
+    private final ConcurrentMap<String, AtomicLong> lastProvisional = new ConcurrentHashMap<>();
+
+    /**
+     * @param sender single thread all sends happen on
+     * @param provisionalIntervalMillis minimum spacing between provisional broadcasts
+     */
+    public PlainAssignmentHandler(
+            @Qualifier("broadcastExecutor") ExecutorService sender,
+            @Value("${application.settings.progress.min-interval-ms:500}") long provisionalIntervalMillis) {
+        this.sender = sender;
+        this.provisionalIntervalMillis = provisionalIntervalMillis;
+    }
+
     /**
      * Registers new WebSocket connections in the active sessions pool.
      */
     @Override
-    public void afterConnectionEstablished(WebSocketSession session) {
-        sessions.add(session);
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        String eventId = eventOf(session);
+        if (!Events.isValidId(eventId)) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Invalid event ID"));
+            return;
+        }
+        sessions.compute(eventId, (id, audience) -> {
+            Set<WebSocketSession> out = audience != null ? audience : ConcurrentHashMap.newKeySet();
+            out.add(session);
+            return out;
+        });
     }
 
     /**
@@ -44,7 +84,7 @@ public class PlainAssignmentHandler extends TextWebSocketHandler {
      */
     @Override
     public void afterConnectionClosed(WebSocketSession s, CloseStatus status) {
-        sessions.remove(s);
+        remove(s);
     }
 
     /**
@@ -56,24 +96,68 @@ public class PlainAssignmentHandler extends TextWebSocketHandler {
     }
 
     /**
-     * Broadcasts serialized JSON payload to all active WebSocket sessions.
+     * Broadcasts serialized JSON payload to all active WebSocket sessions of an event.
      * <p>
      * Converts payload to JSON string atomically before distribution. Failed
      * serializations log errors without propagating exceptions. Closed connections
      * are automatically purged during broadcast attempts.
      *
+     * @param eventId event whose sessions receive the payload
      * @param payload data object to broadcast; must be JSON-serializable
      */
-    public void broadcast(Object payload) {
+    public void broadcast(String eventId, Object payload) {
+        Set<WebSocketSession> audience = sessions.get(eventId);
+        if (audience == null) return;
         try {
             String json = mapper.writeValueAsString(payload);
             TextMessage msg = new TextMessage(json);
-            sessions.forEach(s -> safeSend(s, msg));
+            sender.execute(() -> audience.forEach(s -> safeSend(s, msg)));
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Payload serialization failed", e);
         }
     }
 
+    /**
+     * Broadcasts a provisional payload unless one was sent to the event within the
+     * minimum interval.
+     * <p>
+     * The payload is only built when it will actually be sent, so dropped updates cost
+     * nothing beyond the rate check.
+     *
+     * @param eventId event whose sessions receive the payload
+     * @param payload lazily built data object; must be JSON-serializable
+     */
+    public void broadcastProvisional(String eventId, Supplier<?> payload) {
+        if (!sessions.containsKey(eventId)) return;   // nobody listens; keep no rate state for it
+        AtomicLong sent = lastProvisional.computeIfAbsent(eventId, id -> new AtomicLong());
+        long now = System.currentTimeMillis();
+        long last = sent.get();
+        if (now - last < provisionalIntervalMillis || !sent.compareAndSet(last, now)) {
+            return;
+        }
+        broadcast(eventId, payload.get());
+    }
+
+    /** @return event named by the session's {@code /events/{eventId}} path, else the default event */
+    private static String eventOf(WebSocketSession session) {
+        URI uri = session.getUri();
+        String path = uri == null ? null : uri.getPath();
+        if (path == null || !path.startsWith("/events/") || path.length() == "/events/".length()) {
+            return DEFAULT_EVENT;
+        }
+        return path.substring("/events/".length());
+    }
+
+    private void remove(WebSocketSession s) {
+        String eventId = eventOf(s);
+        sessions.computeIfPresent(eventId, (id, audience) -> {
+            audience.remove(s);
+            if (!audience.isEmpty()) return audience;
+            lastProvisional.remove(id);
+            return null;
+        });
+    }
+
     /**
      * Safely attempts message delivery while handling connection state changes.
      * Silently removes stale sessions from the active pool.
@@ -82,7 +166,7 @@ public class PlainAssignmentHandler extends TextWebSocketHandler {
         try {
             if (s.isOpen()) s.sendMessage(m);
         } catch (IOException ignored) {
-            sessions.remove(s);
+            remove(s);
         }
     }
 }
\ No newline at end of file
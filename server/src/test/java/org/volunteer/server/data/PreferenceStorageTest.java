@@ -0,0 +1,63 @@
+package org.volunteer.server.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.VolunteerPreference;
+
+class PreferenceStorageTest {
+
+    @Test
+    void snapshotIsUnchangedByLaterSaves() {
+        PreferenceStorage storage = new PreferenceStorage();
+        // Span several chunks so both spine and chunk copies are exercised
+        int count = 3 * (1 << PreferenceStorage.CHUNK_SHIFT) + 5;
+        for (int v = 0; v < count; v++) storage.save("e", pref(v, "A"));
+
+        PreferenceSnapshot snapshot = storage.snapshot("e");
+        List<VolunteerPreference> expected = new ArrayList<>(snapshot);
+        assertEquals(count, snapshot.version());
+
+        for (int v = 0; v < count; v += 7) storage.save("e", pref(v, "B"));
+        for (int v = count; v < 2 * count; v++) storage.save("e", pref(v, "C"));
+
+        assertEquals(expected, snapshot);
+        assertEquals(count, snapshot.size());
+        assertEquals(count, snapshot.version());
+    }
+
+    @Test
+    void updatesKeepTheirIndexAndNewVolunteersAppend() {
+        PreferenceStorage storage = new PreferenceStorage();
+        storage.save("e", pref(0, "A"));
+        storage.save("e", pref(1, "A"));
+        PreferenceSnapshot before = storage.snapshot("e");
+
+        assertEquals(3, storage.save("e", pref(0, "B")));
+        assertEquals(4, storage.save("e", pref(2, "A")));
+        PreferenceSnapshot after = storage.snapshot("e");
+
+        assertEquals(List.of(pref(0, "B"), pref(1, "A"), pref(2, "A")), after);
+        assertEquals(4, after.version());
+        assertEquals(List.of(pref(0, "A"), pref(1, "A")), before);
+        assertEquals(2, before.version());
+    }
+
+    @Test
+    void eventsAreIndependent() {
+        PreferenceStorage storage = new PreferenceStorage();
+        storage.save("e", pref(0, "A"));
+        assertTrue(storage.snapshot("other").isEmpty());
+        assertEquals(0, storage.snapshot("other").version());
+        assertEquals(1, storage.save("other", pref(0, "B")));
+        assertEquals(List.of(pref(0, "A")), storage.snapshot("e"));
+    }
+
+    private static VolunteerPreference pref(int volunteer, String service) {
+        return new VolunteerPreference("v" + volunteer, List.of(service));
+    }
+}
@@ -0,0 +1,166 @@
+package org.volunteer.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.ProblemInstance;
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.SolveResult;
+import org.volunteer.server.model.SolveResult.Termination;
+import org.volunteer.server.model.VolunteerPreference;
+
+class GeneticAlgorithmManagerTest {
+
+    private static final List<ServiceMeta> CATALOG = List.of(
+            new ServiceMeta("A", "A", "", 4), new ServiceMeta("B", "B", "", 4));
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void interruptedRunHandsItsPopulationToTheNextRun() throws Exception {
+        StubSolver stub = new StubSolver(1);
+        GeneticAlgorithmManager manager = manager(stub, false);
+        List<VolunteerPreference> prefs = List.of(
+                volunteer("v0", "A"), volunteer("v1", "B"), volunteer("v2", "A"));
+        int[][] population = {{0, 1, 0}, {1, 1, 0}};
+        stub.population = population;
+
+        CompletableFuture<SolveResult> first = manager.solveAsync("e", prefs, CATALOG, r -> { });
+        assertTrue(stub.started.await(5, TimeUnit.SECONDS));
+        stub.block = false;
+
+        // Reordered snapshot with a new volunteer: the checkpoint is remapped by ID
+        List<VolunteerPreference> next = List.of(
+                volunteer("v2", "A"), volunteer("new", "B"), volunteer("v1", "B"), volunteer("v0", "A"));
+        SolveResult second = manager.solveAsync("e", next, CATALOG, r -> { }).get(5, TimeUnit.SECONDS);
+
+        SolveResult interrupted = first.get(5, TimeUnit.SECONDS);
+        assertEquals(Termination.INTERRUPTED, interrupted.termination());
+        assertArrayEquals(population, interrupted.population());
+        assertEquals(Termination.GENERATION_CAP, second.termination());
+
+        Call resumed = stub.calls.get(1);
+        assertArrayEquals(new int[][] {{0, 1, 1, 0}, {0, 1, 1, 1}}, resumed.resumed());
+        assertArrayEquals(new int[] {0, 1, 1, 0}, resumed.warmStart());
+
+        // A run that was not interrupted leaves no checkpoint behind
+        manager.solveAsync("e", next, CATALOG, r -> { }).get(5, TimeUnit.SECONDS);
+        assertNull(stub.calls.get(2).resumed());
+    }
+
+    @Test
+    void interruptedPartsAreMergedIntoOneCheckpoint() throws Exception {
+        StubSolver stub = new StubSolver(2);
+        GeneticAlgorithmManager manager = manager(stub, true);
+        // Two components: the A volunteers only rank A, the B volunteers only rank B
+        List<VolunteerPreference> prefs = List.of(
+                volunteer("a0", "A"), volunteer("b0", "B"), volunteer("a1", "A"),
+                volunteer("b1", "B"), volunteer("a2", "A"), volunteer("b2", "B"));
+
+        CompletableFuture<SolveResult> first = manager.solveAsync("e", prefs, CATALOG, r -> { });
+        assertTrue(stub.started.await(5, TimeUnit.SECONDS), "parts not solved concurrently");
+        stub.block = false;
+        manager.solveAsync("e", prefs, CATALOG, r -> { }).get(5, TimeUnit.SECONDS);
+
+        SolveResult interrupted = first.get(5, TimeUnit.SECONDS);
+        assertEquals(Termination.INTERRUPTED, interrupted.termination());
+        assertArrayEquals(new int[] {0, 1, 0, 1, 0, 1}, interrupted.genes());
+        // Parts hand back 1 and 3 members; the merged checkpoint cycles the smaller one
+        assertEquals(3, interrupted.population().length);
+        for (int[] member : interrupted.population()) assertArrayEquals(new int[] {0, 1, 0, 1, 0, 1}, member);
+
+        // The next run resumes each part from its slice of the merged checkpoint
+        List<Call> resumedParts = stub.calls.subList(2, stub.calls.size());
+        assertEquals(2, resumedParts.size());
+        for (Call part : resumedParts) {
+            assertEquals(3, part.inst().volunteerCount());
+            assertArrayEquals(new int[][] {{0, 0, 0}, {0, 0, 0}, {0, 0, 0}}, part.resumed());
+        }
+    }
+
+    private GeneticAlgorithmManager manager(StubSolver stub, boolean decompose) {
+        RunScheduler scheduler = new RunScheduler(executor, timer, 0, 2000, 2, 2000, "", 0);
+        return new GeneticAlgorithmManager(pool, List.of(stub), "stub", decompose, scheduler);
+    }
+
+    private static VolunteerPreference volunteer(String id, String service) {
+        return new VolunteerPreference(id, List.of(service));
+    }
+
+    /** Arguments of one solve call. */
+    private record Call(ProblemInstance inst, int[] warmStart, int[][] resumed) {
+    }
+
+    /**
+     * Solver that, while {@link #block} is set, waits to be interrupted and then hands back
+     * an interrupted result with a population; otherwise it finishes at once.
+     */
+    private static final class StubSolver implements AssignmentSolver {
+
+        final List<Call> calls = new CopyOnWriteArrayList<>();
+        final CountDownLatch started;
+        volatile boolean block = true;
+
+        /** Population handed back when interrupted; null for one member per service of the instance. */
+        volatile int[][] population;
+
+        StubSolver(int blockingCalls) {
+            this.started = new CountDownLatch(blockingCalls);
+        }
+
+        @Override
+        public String name() {
+            return "stub";
+        }
+
+        @Override
+        public SolveResult solve(ProblemInstance inst) {
+            return solve(inst, null, null, r -> { });
+        }
+
+        @Override
+        public SolveResult solve(ProblemInstance inst, int[] warmStart, int[][] resumed,
+                                 Consumer<SolveResult> progress) {
+            calls.add(new Call(inst, warmStart, resumed));
+            int[] genes = new int[inst.volunteerCount()];
+            if (!block) return new SolveResult(genes, 0, Termination.GENERATION_CAP, 1, 0);
+
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                throw new AssertionError("run was not interrupted");
+            } catch (InterruptedException e) {
+                int[][] members = population;
+                if (members == null) {
+                    members = new int[inst.services().getFirst().id().equals("A") ? 1 : 3][];
+                    for (int m = 0; m < members.length; m++) members[m] = genes.clone();
+                }
+                return new SolveResult(members[0].clone(), 0, Termination.INTERRUPTED, 1, 0, members);
+            }
+        }
+    }
+}
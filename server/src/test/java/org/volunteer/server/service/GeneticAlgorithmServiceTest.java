@@ -0,0 +1,80 @@
+package org.volunteer.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.ProblemInstance;
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.SolveResult;
+import org.volunteer.server.model.SolveResult.Termination;
+import org.volunteer.server.model.VolunteerPreference;
+import org.volunteer.server.util.Breeding;
+
+class GeneticAlgorithmServiceTest {
+
+    @Test
+    void throttlesProgressAtTheSource() {
+        long interval = 50;
+        GeneticAlgorithmService ga = service(400, interval);
+        List<Long> published = new ArrayList<>();
+        List<Double> fitness = new ArrayList<>();
+        SolveResult result = ga.solve(instance(200, 12), null, null, r -> {
+            published.add(System.nanoTime());
+            fitness.add(r.fitness());
+        });
+
+        assertEquals(Termination.DEADLINE, result.termination());
+        assertFalse(published.isEmpty());
+        // Timed at the listener, so allow for jitter in copying the genes out
+        long spacing = (interval - 5) * 1_000_000;
+        for (int i = 1; i < published.size(); i++) {
+            assertTrue(published.get(i) - published.get(i - 1) >= spacing,
+                    "results " + (i - 1) + " and " + i + " closer than the interval");
+            assertTrue(fitness.get(i) < fitness.get(i - 1), "published result did not improve");
+        }
+        // A steady-state run improves on far more generations than it may publish
+        assertTrue(published.size() <= 400 / interval + 1, published.size() + " results published");
+    }
+
+    @Test
+    void publishesEveryImprovementWithoutInterval() {
+        GeneticAlgorithmService ga = service(100, 0);
+        List<Double> fitness = new ArrayList<>();
+        ga.solve(instance(200, 12), null, null, r -> fitness.add(r.fitness()));
+        assertTrue(fitness.size() > 400 / 50 + 1, fitness.size() + " results published");
+    }
+
+    /** @return steady-state GA with a single island that runs until the time budget */
+    static GeneticAlgorithmService service(long timeBudgetMillis, long progressIntervalMillis) {
+        return new GeneticAlgorithmService(50, 0, 0.12, 1.0,
+                false, 0.05, 0.05,
+                1, 50, 0.2, List.of(), 1.0,
+                0, 0, 0, 0,
+                timeBudgetMillis, 0, -1, false,
+                Breeding.Scheme.STEADY_STATE, 1, 1, 0,
+                progressIntervalMillis, ForkJoinPool.commonPool());
+    }
+
+    /** @return seeded instance with random preference lists and tight capacities */
+    static ProblemInstance instance(int volunteers, int services) {
+        Random rng = new Random(11);
+        List<ServiceMeta> catalog = new ArrayList<>(services);
+        for (int s = 0; s < services; s++) {
+            catalog.add(new ServiceMeta("s" + s, "s" + s, "", 1 + volunteers / services));
+        }
+        List<VolunteerPreference> prefs = new ArrayList<>(volunteers);
+        for (int v = 0; v < volunteers; v++) {
+            List<String> ranked = new ArrayList<>();
+            for (int k = 0; k < 3; k++) ranked.add("s" + rng.nextInt(services));
+            prefs.add(new VolunteerPreference("v" + v, ranked));
+        }
+        return ProblemInstance.of(prefs, catalog, 10);
+    }
+}
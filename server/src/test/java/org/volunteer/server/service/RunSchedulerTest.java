@@ -0,0 +1,104 @@
+package org.volunteer.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.SolveResult;
+import org.volunteer.server.model.SolveResult.Termination;
+
+class RunSchedulerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    @Test
+    void evictsOnlyIdleLanes() throws Exception {
+        // Long quiet period, so a scheduled request stays pending
+        RunScheduler scheduler = new RunScheduler(executor, timer, 60_000, 60_000, 2, 2000, "", 20);
+        List<String> evicted = new CopyOnWriteArrayList<>();
+        scheduler.onEvict(evicted::add);
+
+        scheduler.submit("done", latest -> result()).get(5, TimeUnit.SECONDS);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<SolveResult> busy = scheduler.submit("busy", latest -> {
+            release.await();
+            return result();
+        });
+        scheduler.schedule("pending", () -> { });
+
+        awaitEvicted(evicted, "done");
+        Thread.sleep(100);
+        assertEquals(List.of("done"), evicted);
+
+        release.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+        awaitEvicted(evicted, "busy");
+        assertFalse(evicted.contains("pending"));
+    }
+
+    @Test
+    void evictedEventGetsFreshLane() throws Exception {
+        RunScheduler scheduler = new RunScheduler(executor, timer, 0, 2000, 2, 2000, "", 20);
+        List<String> evicted = new CopyOnWriteArrayList<>();
+        scheduler.onEvict(evicted::add);
+
+        scheduler.submit("a", latest -> result()).get(5, TimeUnit.SECONDS);
+        awaitEvicted(evicted, "a");
+
+        CountDownLatch ran = new CountDownLatch(1);
+        scheduler.schedule("a", () -> scheduler.submit("a", latest -> {
+            ran.countDown();
+            return result();
+        }));
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void supersededRunIsNoLongerLatest() throws Exception {
+        RunScheduler scheduler = new RunScheduler(executor, timer, 0, 2000, 2, 2000, "", 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<SolveResult> first = scheduler.submit("a", latest -> {
+            started.countDown();
+            while (!Thread.currentThread().isInterrupted()) Thread.onSpinWait();
+            return new SolveResult(new int[0], latest.getAsBoolean() ? 0 : 1, Termination.INTERRUPTED, 0, 0);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        SolveResult second = scheduler.submit("a", latest -> {
+            assertTrue(latest.getAsBoolean());
+            return result();
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).fitness(), "interrupted run still reported as latest");
+        assertEquals(Termination.GENERATION_CAP, second.termination());
+    }
+
+    private static void awaitEvicted(List<String> evicted, String eventId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!evicted.contains(eventId)) {
+            assertTrue(System.currentTimeMillis() < deadline, eventId + " not evicted");
+            Thread.sleep(5);
+        }
+    }
+
+    private static SolveResult result() {
+        return new SolveResult(new int[0], 0, Termination.GENERATION_CAP, 0, 0);
+    }
+}
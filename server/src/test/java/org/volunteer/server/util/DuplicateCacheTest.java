@@ -0,0 +1,91 @@
+package org.volunteer.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.ProblemInstance;
+
+class DuplicateCacheTest {
+
+    @Test
+    void containsRecordedUntilForgotten() {
+        DuplicateCache cache = new DuplicateCache(16);
+        long hash = DuplicateCache.key(1, 2);
+        assertFalse(cache.contains(hash));
+        cache.record(hash);
+        assertTrue(cache.contains(hash));
+        assertTrue(cache.contains(hash), "lookups must not consume the entry");
+        cache.forget(hash);
+        assertFalse(cache.contains(hash));
+        assertEquals(4, cache.lookups());
+        assertEquals(2, cache.hits());
+    }
+
+    @Test
+    void forgetKeepsCollidingNewerEntry() {
+        DuplicateCache cache = new DuplicateCache(1);
+        long a = DuplicateCache.key(0, 0);
+        long b = DuplicateCache.key(0, 1);
+        cache.record(a);
+        cache.record(b);
+        cache.forget(a);
+        assertFalse(cache.contains(a));
+        assertTrue(cache.contains(b));
+    }
+
+    @Test
+    void disabledNeverHits() {
+        DuplicateCache.DISABLED.record(7);
+        assertFalse(DuplicateCache.DISABLED.contains(7));
+        assertEquals(0, DuplicateCache.DISABLED.lookups());
+    }
+
+    @Test
+    void childrenOfIdenticalSeedsAreRejected() {
+        ProblemInstance inst = PopulationArenaTest.instance(12, 4, 3);
+        PopulationArena arena = PopulationArena.create(inst, 6, FitnessEvaluator.SCALAR);
+        int[] seed = new int[12];
+        for (int i = 0; i < 5; i++) arena.add(seed);
+        DuplicateCache cache = new DuplicateCache(64);
+        Island island = island(inst, arena, 0.0, cache);
+
+        // Without mutation every child equals the seeds, which were recorded on creation
+        island.evolve(50, new TerminationPolicy(50, 0, 0, -1).start());
+        assertEquals(50, cache.lookups());
+        assertEquals(50, cache.hits());
+    }
+
+    @Test
+    void tracksCurrentMembersWhileEvolving() {
+        Random rng = new Random(5);
+        ProblemInstance inst = PopulationArenaTest.instance(20, 5, 4);
+        PopulationArena arena = PopulationArena.create(inst, 11, FitnessEvaluator.SCALAR);
+        for (int m = 0; m < 10; m++) {
+            int[] genes = new int[20];
+            for (int i = 0; i < genes.length; i++) genes[i] = rng.nextInt(5);
+            arena.add(genes);
+        }
+        DuplicateCache cache = new DuplicateCache(1 << 16);
+        Island island = island(inst, arena, 0.5, cache);
+
+        for (int epoch = 0; epoch < 20; epoch++) {
+            island.evolve(25, new TerminationPolicy(25, 0, 0, -1).start());
+            for (int[] member : island.members()) {
+                int slot = arena.add(member);
+                assertTrue(cache.contains(arena.hash(slot)), "member not recorded");
+                arena.release(slot);
+            }
+        }
+    }
+
+    private static Island island(ProblemInstance inst, PopulationArena arena, double mutationRate,
+                                 DuplicateCache cache) {
+        Operators operators = new Operators(mutationRate, 1.0, false, 0.05, 0.05);
+        return new Island(inst, arena, operators, CapacityRepair.DISABLED, LocalSearch.DISABLED,
+                Breeding.STEADY_STATE, cache);
+    }
+}
@@ -0,0 +1,79 @@
+package org.volunteer.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.ProblemInstance;
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.VolunteerPreference;
+
+class FitnessEvaluatorTest {
+
+    /**
+     * Runs with {@code mvn -Pvector test}; skipped by the default build, which does not
+     * compile the vector scan.
+     */
+    @Test
+    void vectorScanMatchesScalarScan() {
+        assumeTrue(FitnessEvaluator.vectorOrScalar() == FitnessEvaluator.VECTOR,
+                "vector scan not built or jdk.incubator.vector not loaded");
+
+        SplittableRandom rng = new SplittableRandom(42);
+        // Catalogs below, at and above the vector lane counts; vector tails of every length
+        for (int services : new int[] {1, 3, 8, 9, 16, 17, 37, 255, 256, 300, 1000}) {
+            for (int volunteers : new int[] {1, 7, 8, 15, 16, 33, 64, 1001}) {
+                ProblemInstance inst = randomInstance(volunteers, services, rng);
+                int from = rng.nextInt(5);
+                int[] genes = new int[from + volunteers];
+                for (int i = from; i < genes.length; i++) genes[i] = rng.nextInt(services);
+                short[] shorts = new short[genes.length];
+                byte[] bytes = new byte[genes.length];
+                for (int i = 0; i < genes.length; i++) {
+                    shorts[i] = (short) genes[i];
+                    bytes[i] = (byte) genes[i];
+                }
+                String label = volunteers + " volunteers, " + services + " services";
+
+                int[] expected = new int[services + 1];
+                double cost = FitnessEvaluator.SCALAR.totalCost(genes, from, inst, expected, 1);
+
+                int[] actual = new int[services + 1];
+                assertEquals(cost, FitnessEvaluator.VECTOR.totalCost(genes, from, inst, actual, 1), label);
+                assertArrayEquals(expected, actual, label);
+                assertEquals(cost, FitnessEvaluator.VECTOR.totalCost(shorts, from, inst, actual, 1), label);
+                assertArrayEquals(expected, actual, label);
+                if (services <= PopulationArena.BYTE_SERVICES) {
+                    assertEquals(cost, FitnessEvaluator.VECTOR.totalCost(bytes, from, inst, actual, 1), label);
+                    assertArrayEquals(expected, actual, label);
+                }
+            }
+        }
+    }
+
+    @Test
+    void scalarWithoutTheVectorModule() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty());
+        assertEquals(FitnessEvaluator.SCALAR, FitnessEvaluator.vectorOrScalar());
+    }
+
+    /** @return instance with random preference lists and some overloaded services */
+    private static ProblemInstance randomInstance(int volunteers, int services, SplittableRandom rng) {
+        List<ServiceMeta> catalog = new ArrayList<>(services);
+        for (int s = 0; s < services; s++) {
+            catalog.add(new ServiceMeta("s" + s, "s" + s, "", 1 + rng.nextInt(1 + volunteers / services)));
+        }
+        List<VolunteerPreference> prefs = new ArrayList<>(volunteers);
+        for (int v = 0; v < volunteers; v++) {
+            List<String> ranked = new ArrayList<>();
+            for (int k = rng.nextInt(4); k > 0; k--) ranked.add("s" + rng.nextInt(services));
+            prefs.add(new VolunteerPreference("v" + v, ranked));
+        }
+        return ProblemInstance.of(prefs, catalog, 10);
+    }
+}
@@ -0,0 +1,72 @@
+package org.volunteer.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.ProblemInstance;
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.VolunteerPreference;
+
+class MinCostFlowTest {
+
+    @Test
+    void matchesBruteForceOnTinyInstances() {
+        Random rng = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            ProblemInstance inst = randomInstance(rng, 1 + rng.nextInt(6), 1 + rng.nextInt(3));
+            int[] genes = MinCostFlow.solve(inst);
+            assertEquals(inst.volunteerCount(), genes.length);
+            assertEquals(bruteForce(inst), FitnessCalculator.totalCost(genes, inst), "round " + round);
+        }
+    }
+
+    @Test
+    void movesTheVolunteerWithTheCheaperAlternative() {
+        // Two volunteers want the single seat of A; the one who ranked B second moves there
+        ProblemInstance inst = ProblemInstance.of(List.of(
+                        new VolunteerPreference("v0", List.of("A", "B")),
+                        new VolunteerPreference("v1", List.of("A"))),
+                List.of(new ServiceMeta("A", "A", "", 1), new ServiceMeta("B", "B", "", 1)),
+                10);
+        int[] genes = MinCostFlow.solve(inst);
+        assertEquals(1, genes[0]);
+        assertEquals(0, genes[1]);
+    }
+
+    /**
+     * @return random instance whose preference lists may be empty, repeat IDs or name
+     *         services missing from the catalog, and whose capacity may be too small
+     */
+    static ProblemInstance randomInstance(Random rng, int volunteers, int services) {
+        List<ServiceMeta> catalog = new ArrayList<>();
+        for (int s = 0; s < services; s++) {
+            catalog.add(new ServiceMeta("s" + s, "s" + s, "", 1 + rng.nextInt(3)));
+        }
+        List<VolunteerPreference> prefs = new ArrayList<>();
+        for (int v = 0; v < volunteers; v++) {
+            List<String> ranked = new ArrayList<>();
+            int length = rng.nextInt(services + 2);
+            for (int r = 0; r < length; r++) ranked.add("s" + rng.nextInt(services + 1));
+            prefs.add(new VolunteerPreference("v" + v, ranked));
+        }
+        return ProblemInstance.of(prefs, catalog, 10);
+    }
+
+    /** @return lowest total cost over every assignment of the instance */
+    static double bruteForce(ProblemInstance inst) {
+        int v = inst.volunteerCount();
+        int s = inst.serviceCount();
+        int[] genes = new int[v];
+        double best = Double.MAX_VALUE;
+        while (true) {
+            best = Math.min(best, FitnessCalculator.totalCost(genes, inst));
+            int i = 0;
+            while (i < v && ++genes[i] == s) genes[i++] = 0;
+            if (i == v) return best;
+        }
+    }
+}
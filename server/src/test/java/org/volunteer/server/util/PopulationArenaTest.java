@@ -0,0 +1,163 @@
+package org.volunteer.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.volunteer.server.model.ProblemInstance;
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.VolunteerPreference;
+
+class PopulationArenaTest {
+
+    @Test
+    void crossoverOnSmallestValidInstance() {
+        ProblemInstance inst = instance(PopulationArena.MIN_VOLUNTEERS, 2, 1);
+        PopulationArena arena = PopulationArena.create(inst, 3, FitnessEvaluator.SCALAR);
+        int a = arena.add(new int[] {0, 0, 0});
+        int b = arena.add(new int[] {1, 1, 1});
+        int child = arena.acquire();
+
+        // The cut lies in [1, volunteers - 2], so three volunteers always split after the first
+        for (int round = 0; round < 20; round++) {
+            arena.crossover(a, b, child);
+            assertArrayEquals(new int[] {0, 1, 1}, arena.genes(child));
+            assertConsistent(arena, child);
+            arena.crossover(b, a, child);
+            assertArrayEquals(new int[] {1, 0, 0}, arena.genes(child));
+            assertConsistent(arena, child);
+        }
+    }
+
+    @Test
+    void rejectsInstancesTooSmallForCrossover() {
+        ProblemInstance inst = instance(PopulationArena.MIN_VOLUNTEERS - 1, 2, 1);
+        assertThrows(IllegalArgumentException.class, () -> PopulationArena.create(inst, 2, FitnessEvaluator.SCALAR));
+    }
+
+    /** Service counts that select the byte, short and int arena. */
+    @ParameterizedTest
+    @ValueSource(ints = {40, 300, 70_000})
+    void incrementalUpdatesMatchRescanAndRehash(int services) {
+        Random rng = new Random(services);
+        ProblemInstance inst = instance(30, services, 2);
+        PopulationArena arena = PopulationArena.create(inst, 3, FitnessEvaluator.SCALAR);
+        int a = arena.add(randomGenes(rng, services, 30));
+        int b = arena.add(randomGenes(rng, services, 30));
+        int child = arena.acquire();
+
+        for (int round = 0; round < 500; round++) {
+            int slot = rng.nextBoolean() ? a : b;
+            switch (rng.nextInt(5)) {
+                case 0 -> {
+                    int volunteer = rng.nextInt(30);
+                    int svc = crowded(rng, services);
+                    double before = arena.fitness(slot);
+                    double delta = arena.moveDelta(slot, volunteer, svc);
+                    arena.setGene(slot, volunteer, svc);
+                    assertEquals(before + delta, arena.fitness(slot), "move delta");
+                }
+                case 1 -> {
+                    int i = rng.nextInt(30);
+                    int j = rng.nextInt(30);
+                    double before = arena.fitness(slot);
+                    double delta = FitnessCalculator.swapDelta(i, arena.gene(slot, i), j, arena.gene(slot, j), inst);
+                    arena.swapGenes(slot, i, j);
+                    assertEquals(before + delta, arena.fitness(slot), "swap delta");
+                }
+                case 2 -> arena.mutate(slot, rng.nextDouble());
+                case 3 -> {
+                    arena.crossover(a, b, child);
+                    assertConsistent(arena, child);
+                }
+                default -> {
+                    int from = rng.nextInt(30);
+                    arena.applySegment(slot == a ? b : a, slot, from, from + rng.nextInt(31 - from));
+                }
+            }
+            assertConsistent(arena, slot);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, ByteArena", "127, ByteArena", "128, ByteArena", "255, ByteArena", "256, ByteArena",
+            "257, ShortArena", "32767, ShortArena", "32768, ShortArena", "32769, ShortArena",
+            "65536, ShortArena", "65537, IntArena"})
+    void picksNarrowestWidthAndRoundTripsBoundaryGenes(int services, String width) {
+        ProblemInstance inst = instance(PopulationArena.MIN_VOLUNTEERS, services, 1);
+        PopulationArena arena = PopulationArena.create(inst, 2, FitnessEvaluator.SCALAR);
+        assertEquals(width, arena.getClass().getSimpleName());
+
+        // Indices around the signed and unsigned limits of byte and short that exist in this catalog
+        int[] boundaries = IntStream.of(0, 1, 126, 127, 128, 129, 254, 255, 256,
+                        32766, 32767, 32768, 32769, 65534, 65535, 65536, services - 1)
+                .filter(svc -> svc < services)
+                .toArray();
+        int slot = arena.add(new int[] {0, 0, 0});
+        int copy = arena.acquire();
+        for (int svc : boundaries) {
+            int[] genes = {svc, services - 1 - svc, svc};
+            arena.storeGenes(slot, genes);
+            arena.evaluate(slot);
+            assertArrayEquals(genes, arena.genes(slot));
+            assertEquals(svc, arena.gene(slot, 0));
+
+            arena.setGene(slot, 1, svc);
+            assertEquals(svc, arena.gene(slot, 1));
+            assertConsistent(arena, slot);
+
+            arena.copy(slot, copy);
+            assertArrayEquals(arena.genes(slot), arena.genes(copy));
+            assertEquals(arena.hash(slot), arena.hash(copy));
+        }
+    }
+
+    /** Asserts that a slot's incrementally kept fitness, loads and hash match a full rescan of its genes. */
+    static void assertConsistent(PopulationArena arena, int slot) {
+        int[] genes = arena.genes(slot);
+        assertEquals(FitnessCalculator.totalCost(genes, arena.inst), arena.fitness(slot), "fitness");
+        int[] load = new int[arena.services];
+        long hash = 0;
+        for (int i = 0; i < genes.length; i++) {
+            load[genes[i]]++;
+            hash ^= DuplicateCache.key(i, genes[i]);
+        }
+        int[] kept = new int[arena.services];
+        for (int s = 0; s < kept.length; s++) kept[s] = arena.load(slot, s);
+        assertArrayEquals(load, kept, "loads");
+        assertEquals(hash, arena.hash(slot), "hash");
+    }
+
+    /** @return one of a few services at both ends of the catalog, so loads overflow and shrink */
+    private static int crowded(Random rng, int services) {
+        int k = rng.nextInt(6);
+        return k < 3 ? k : services - 6 + k;
+    }
+
+    private static int[] randomGenes(Random rng, int services, int volunteers) {
+        int[] genes = new int[volunteers];
+        for (int i = 0; i < volunteers; i++) genes[i] = crowded(rng, services);
+        return genes;
+    }
+
+    /** @return instance where volunteer {@code v} ranks services {@code v, v + 1} (mod catalog) */
+    static ProblemInstance instance(int volunteers, int services, int capacity) {
+        List<ServiceMeta> catalog = new ArrayList<>(services);
+        for (int s = 0; s < services; s++) catalog.add(new ServiceMeta("s" + s, "s" + s, "", capacity));
+        List<VolunteerPreference> prefs = new ArrayList<>(volunteers);
+        for (int v = 0; v < volunteers; v++) {
+            prefs.add(new VolunteerPreference("v" + v, List.of("s" + v % services, "s" + (v + 1) % services)));
+        }
+        return ProblemInstance.of(prefs, catalog, 10);
+    }
+}
@@ -0,0 +1,99 @@
+package org.volunteer.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.ProblemInstance;
+
+class PopulationHeapTest {
+
+    private static final int SIZE = 9;
+
+    @Test
+    void matchesSortedReferenceAfterRandomReplacements() {
+        Random rng = new Random(3);
+        ProblemInstance inst = PopulationArenaTest.instance(8, 4, 2);
+        PopulationArena arena = PopulationArena.create(inst, SIZE + 1, FitnessEvaluator.SCALAR);
+        List<Integer> reference = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) reference.add(arena.add(randomGenes(rng, inst)));
+        PopulationHeap heap = new PopulationHeap(arena, SIZE);
+        assertMatches(heap, arena, reference);
+
+        for (int round = 0; round < 2000; round++) {
+            int slot = arena.add(randomGenes(rng, inst));
+            int evicted = heap.replaceWorst(slot);
+            assertEquals(fitness(arena, reference).getLast(), arena.fitness(evicted), "evicted not worst");
+            reference.remove(Integer.valueOf(evicted));
+            reference.add(slot);
+            arena.release(evicted);
+            assertMatches(heap, arena, reference);
+        }
+    }
+
+    @Test
+    void resetRebuildsOrderAndBest() {
+        Random rng = new Random(4);
+        ProblemInstance inst = PopulationArenaTest.instance(8, 4, 2);
+        PopulationArena arena = PopulationArena.create(inst, 2 * SIZE, FitnessEvaluator.SCALAR);
+        for (int i = 0; i < SIZE; i++) arena.add(randomGenes(rng, inst));
+        PopulationHeap heap = new PopulationHeap(arena, SIZE);
+
+        int[] slots = new int[SIZE];
+        List<Integer> reference = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            slots[i] = arena.add(randomGenes(rng, inst));
+            reference.add(slots[i]);
+        }
+        heap.reset(slots);
+        assertMatches(heap, arena, reference);
+    }
+
+    @Test
+    void tracksBestWhenAllMembersTie() {
+        ProblemInstance inst = PopulationArenaTest.instance(4, 2, 4);
+        PopulationArena arena = PopulationArena.create(inst, 3, FitnessEvaluator.SCALAR);
+        int[] genes = {0, 1, 0, 1};
+        arena.add(genes);
+        arena.add(genes);
+        PopulationHeap heap = new PopulationHeap(arena, 2);
+
+        // The worst member is also a best one: the tracked best must stay a member
+        int slot = arena.add(genes);
+        int evicted = heap.replaceWorst(slot);
+        assertTrue(heap.best() != evicted);
+        assertTrue(heap.best() == heap.get(0) || heap.best() == heap.get(1));
+    }
+
+    /** Asserts heap order, membership, worst and best against a reference list of slots. */
+    private static void assertMatches(PopulationHeap heap, PopulationArena arena, List<Integer> reference) {
+        List<Integer> members = new ArrayList<>();
+        for (int i = 0; i < heap.size(); i++) {
+            members.add(heap.get(i));
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < heap.size(); child++) {
+                assertTrue(arena.fitness(heap.get(i)) >= arena.fitness(heap.get(child)), "heap order at " + i);
+            }
+        }
+        assertEquals(reference.stream().sorted().toList(), members.stream().sorted().toList());
+
+        List<Double> sorted = fitness(arena, reference);
+        assertEquals(sorted.getLast(), arena.fitness(heap.worst()));
+        assertEquals(sorted.getFirst(), arena.fitness(heap.best()));
+        assertTrue(members.contains(heap.best()), "best is not a member");
+    }
+
+    private static List<Double> fitness(PopulationArena arena, List<Integer> slots) {
+        return slots.stream().map(arena::fitness).sorted(Comparator.naturalOrder()).toList();
+    }
+
+    private static int[] randomGenes(Random rng, ProblemInstance inst) {
+        int[] genes = new int[inst.volunteerCount()];
+        for (int i = 0; i < genes.length; i++) genes[i] = rng.nextInt(inst.serviceCount());
+        return genes;
+    }
+}
@@ -0,0 +1,94 @@
+package org.volunteer.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.ProblemInstance;
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.VolunteerPreference;
+
+class ProblemDecompositionTest {
+
+    @Test
+    void mergedPartOptimaMatchWholeInstanceOptimum() {
+        Random rng = new Random(7);
+        int decomposed = 0;
+        for (int round = 0; round < 200; round++) {
+            ProblemInstance inst = twoComponents(rng);
+            ProblemDecomposition split = ProblemDecomposition.of(inst, 4);
+            if (!split.decomposed()) continue;
+            decomposed++;
+
+            List<int[]> partGenes = new ArrayList<>();
+            for (ProblemDecomposition.Part part : split.parts()) partGenes.add(MinCostFlow.solve(part.inst()));
+            int[] merged = split.merge(partGenes);
+
+            assertEquals(inst.volunteerCount(), merged.length);
+            assertEquals(MinCostFlowTest.bruteForce(inst), FitnessCalculator.totalCost(merged, inst), "round " + round);
+        }
+        assertTrue(decomposed > 100, "only " + decomposed + " instances decomposed");
+    }
+
+    @Test
+    void seatsVolunteersWithoutRankedServicesInFreeCapacity() {
+        ProblemInstance inst = ProblemInstance.of(List.of(
+                        new VolunteerPreference("a0", List.of("A")),
+                        new VolunteerPreference("a1", List.of("A")),
+                        new VolunteerPreference("a2", List.of("A")),
+                        new VolunteerPreference("x", List.of("unknown")),
+                        new VolunteerPreference("b0", List.of("B")),
+                        new VolunteerPreference("b1", List.of("B")),
+                        new VolunteerPreference("b2", List.of("B"))),
+                List.of(new ServiceMeta("A", "A", "", 3), new ServiceMeta("B", "B", "", 4)),
+                10);
+        ProblemDecomposition split = ProblemDecomposition.of(inst, 2);
+        assertTrue(split.decomposed());
+        assertEquals(2, split.parts().size());
+
+        List<int[]> partGenes = new ArrayList<>();
+        for (ProblemDecomposition.Part part : split.parts()) partGenes.add(MinCostFlow.solve(part.inst()));
+        assertArrayEquals(new int[] {0, 0, 0, 1, 1, 1, 1}, split.merge(partGenes));
+    }
+
+    @Test
+    void keepsInstanceWholeWhenAComponentLacksCapacity() {
+        ProblemInstance inst = ProblemInstance.of(List.of(
+                        new VolunteerPreference("a0", List.of("A")),
+                        new VolunteerPreference("a1", List.of("A")),
+                        new VolunteerPreference("a2", List.of("A")),
+                        new VolunteerPreference("b0", List.of("B")),
+                        new VolunteerPreference("b1", List.of("B")),
+                        new VolunteerPreference("b2", List.of("B"))),
+                List.of(new ServiceMeta("A", "A", "", 2), new ServiceMeta("B", "B", "", 10)),
+                10);
+        assertFalse(ProblemDecomposition.of(inst, 2).decomposed());
+    }
+
+    /**
+     * @return instance whose volunteers each rank services of only one of two disjoint
+     *         groups, mostly with room for every volunteer of a component
+     */
+    private static ProblemInstance twoComponents(Random rng) {
+        List<ServiceMeta> catalog = new ArrayList<>();
+        for (String group : List.of("a", "b")) {
+            for (int s = 0; s < 2; s++) catalog.add(new ServiceMeta(group + s, group + s, "", 2 + rng.nextInt(3)));
+        }
+        List<VolunteerPreference> prefs = new ArrayList<>();
+        int volunteers = 6 + rng.nextInt(2);
+        for (int v = 0; v < volunteers; v++) {
+            String group = v % 2 == 0 ? "a" : "b";
+            List<String> ranked = new ArrayList<>();
+            int length = 1 + rng.nextInt(2);
+            for (int r = 0; r < length; r++) ranked.add(group + rng.nextInt(2));
+            prefs.add(new VolunteerPreference("v" + v, ranked));
+        }
+        return ProblemInstance.of(prefs, catalog, 10);
+    }
+}
@@ -0,0 +1,90 @@
+package org.volunteer.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.ServiceMeta;
+import org.volunteer.server.model.VolunteerPreference;
+
+class PublishedAssignmentTest {
+
+    private static final ServiceMeta A = new ServiceMeta("A", "A", "", 1);
+    private static final ServiceMeta B = new ServiceMeta("B", "B", "", 1);
+    private static final ServiceMeta C = new ServiceMeta("C", "C", "", 5);
+    private static final List<ServiceMeta> CATALOG = List.of(A, B, C);
+
+    private static final VolunteerPreference V0 = new VolunteerPreference("v0", List.of("A", "B"));
+
+    @Test
+    void placesNothingWithoutMatchingPublishedResult() {
+        PublishedAssignment published = new PublishedAssignment(10, 3, 64);
+        VolunteerPreference vp = new VolunteerPreference("v1", List.of("A"));
+        assertFalse(published.place(vp, CATALOG));
+
+        published.publish(List.of(V0), CATALOG, new int[] {0});
+        assertFalse(published.place(vp, new ArrayList<>(CATALOG)));
+        assertEquals(Map.of("v0", A), published.assignments());
+    }
+
+    @Test
+    void depthOneTakesTheCheapestServiceWithRoom() {
+        PublishedAssignment published = new PublishedAssignment(10, 1, 64);
+        published.publish(List.of(V0), CATALOG, new int[] {0});
+
+        assertTrue(published.place(new VolunteerPreference("v1", List.of("A", "C")), CATALOG));
+        assertEquals(Map.of("v0", A, "v1", C), published.assignments());
+
+        // A is full and v2 ranked nothing else: the first service with room, unranked
+        assertTrue(published.place(new VolunteerPreference("v2", List.of("A")), CATALOG));
+        assertEquals(B, published.assignments().get("v2"));
+        assertEquals(A, published.assignments().get("v0"));
+    }
+
+    @Test
+    void deeperChainMovesTheOccupantOn() {
+        PublishedAssignment published = new PublishedAssignment(10, 2, 64);
+        published.publish(List.of(V0), CATALOG, new int[] {0});
+
+        // v2 entering A and v0 moving to their second choice costs 1, against 10 unranked
+        assertTrue(published.place(new VolunteerPreference("v2", List.of("A")), CATALOG));
+        assertEquals(Map.of("v0", B, "v2", A), published.assignments());
+    }
+
+    @Test
+    void neverExceedsCapacityWhileRoomRemains() {
+        PublishedAssignment published = new PublishedAssignment(10, 3, 64);
+        published.publish(List.of(V0), CATALOG, new int[] {0});
+        for (int v = 1; v < 7; v++) {
+            assertTrue(published.place(new VolunteerPreference("v" + v, List.of("A", "B")), CATALOG));
+        }
+        assertEquals(Map.of(A, 1, B, 1, C, 5), loads(published.assignments()));
+
+        // Every seat is taken: the next volunteer overflows their first choice
+        assertTrue(published.place(new VolunteerPreference("v7", List.of("B", "A")), CATALOG));
+        assertEquals(B, published.assignments().get("v7"));
+    }
+
+    @Test
+    void keepsPlacedVolunteersWhenOlderResultIsPublished() {
+        PublishedAssignment published = new PublishedAssignment(10, 3, 64);
+        published.publish(List.of(V0), CATALOG, new int[] {0});
+        published.place(new VolunteerPreference("v1", List.of("C")), CATALOG);
+
+        published.publish(List.of(V0), CATALOG, new int[] {1});
+        assertEquals(Map.of("v0", B, "v1", C), published.assignments());
+    }
+
+    private static Map<ServiceMeta, Integer> loads(SortedMap<String, ServiceMeta> assignments) {
+        Map<ServiceMeta, Integer> load = new TreeMap<>((a, b) -> a.id().compareTo(b.id()));
+        assignments.values().forEach(svc -> load.merge(svc, 1, Integer::sum));
+        return load;
+    }
+}
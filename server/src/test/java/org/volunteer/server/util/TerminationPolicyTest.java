@@ -0,0 +1,93 @@
+package org.volunteer.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.volunteer.server.model.SolveResult.Termination;
+
+class TerminationPolicyTest {
+
+    @Test
+    void stopsAtGenerationCap() {
+        TerminationPolicy.Run run = new TerminationPolicy(10, 0, 0, -1).start();
+        for (int g = 0; g < 10; g++) assertNull(run.check(g, 100 - g));
+        assertEquals(Termination.GENERATION_CAP, run.check(10, 90));
+        assertFalse(run.pastDeadline());
+    }
+
+    @Test
+    void stopsAtDeadline() throws InterruptedException {
+        TerminationPolicy.Run run = new TerminationPolicy(0, 20, 0, -1).start();
+        assertNull(run.check(1_000_000, 5));
+        assertFalse(run.stopRequested());
+        Thread.sleep(30);
+        assertTrue(run.pastDeadline());
+        assertTrue(run.stopRequested());
+        assertEquals(Termination.DEADLINE, run.check(1_000_001, 5));
+    }
+
+    @Test
+    void stopsAfterStagnationWindow() {
+        TerminationPolicy.Run run = new TerminationPolicy(1000, 0, 5, -1).start();
+        assertNull(run.check(0, 50));
+        assertNull(run.check(3, 40));
+        // Equal fitness is no improvement
+        for (int g = 4; g < 8; g++) assertNull(run.check(g, 40));
+        assertEquals(Termination.STAGNATION, run.check(8, 40));
+
+        assertNull(run.check(9, 39));
+        assertEquals(Termination.STAGNATION, run.check(14, 39));
+    }
+
+    @Test
+    void stopsAtTargetFitness() {
+        TerminationPolicy.Run run = new TerminationPolicy(1000, 0, 0, 10).start();
+        assertNull(run.check(1, 11));
+        assertEquals(Termination.TARGET_FITNESS, run.check(2, 10));
+
+        // Target 0 is a valid target; only negative values disable it
+        TerminationPolicy.Run exact = new TerminationPolicy(1000, 0, 0, 0).start();
+        assertNull(exact.check(1, 1));
+        assertEquals(Termination.TARGET_FITNESS, exact.check(2, 0));
+    }
+
+    @Test
+    void targetTakesPrecedenceOverCap() {
+        TerminationPolicy.Run run = new TerminationPolicy(5, 0, 0, 10).start();
+        assertEquals(Termination.TARGET_FITNESS, run.check(5, 10));
+    }
+
+    @Test
+    void withoutCapOrDeadlineRunsOneGeneration() {
+        TerminationPolicy.Run run = new TerminationPolicy(0, 0, 0, -1).start();
+        assertEquals(1, run.remaining(0, 50));
+        assertEquals(Termination.GENERATION_CAP, run.check(1, 0));
+    }
+
+    @Test
+    void remainingClampsEpochToCap() {
+        TerminationPolicy.Run run = new TerminationPolicy(100, 0, 0, -1).start();
+        assertEquals(50, run.remaining(0, 50));
+        assertEquals(50, run.remaining(50, 50));
+        assertEquals(10, run.remaining(90, 50));
+        assertEquals(0, run.remaining(100, 50));
+
+        // A deadline-only run has no cap, so the epoch is never clamped
+        TerminationPolicy.Run timed = new TerminationPolicy(0, 60_000, 0, -1).start();
+        assertEquals(50, timed.remaining(Long.MAX_VALUE / 2, 50));
+    }
+
+    @Test
+    void cancelRequestsStopWithoutDeadline() {
+        TerminationPolicy.Run run = new TerminationPolicy(100, 0, 0, -1).start();
+        assertFalse(run.stopRequested());
+        run.cancel();
+        run.cancel();
+        assertTrue(run.cancelled());
+        assertTrue(run.stopRequested());
+        assertFalse(run.pastDeadline());
+    }
+}
@@ -0,0 +1,50 @@
+package org.volunteer.server.web.api;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.volunteer.server.service.ClientService;
+
+@WebMvcTest(ClientController.class)
+class ClientControllerTest {
+
+    private static final String PREFERENCE = "{\"clientId\":\"v1\",\"preferences\":[\"svc-food\"]}";
+    private static final String CATALOG = "[{\"id\":\"s1\",\"name\":\"S\",\"description\":\"\",\"maxCapacity\":2}]";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ClientService clientService;
+
+    @Test
+    void acceptsValidEventId() throws Exception {
+        mvc.perform(post("/events/spring-gala_2026.v2/preferences")
+                        .contentType(MediaType.APPLICATION_JSON).content(PREFERENCE))
+                .andExpect(status().isCreated());
+        verify(clientService).updatePreference(any(), any());
+    }
+
+    @Test
+    void rejectsOverlongEventIdWithoutCreatingState() throws Exception {
+        mvc.perform(post("/events/" + "e".repeat(65) + "/preferences")
+                        .contentType(MediaType.APPLICATION_JSON).content(PREFERENCE))
+                .andExpect(status().isBadRequest());
+        mvc.perform(put("/events/a%20b/services")
+                        .contentType(MediaType.APPLICATION_JSON).content(CATALOG))
+                .andExpect(status().isBadRequest());
+        verify(clientService, never()).updatePreference(anyString(), any());
+        verify(clientService, never()).replaceCatalog(anyString(), any());
+    }
+}
@@ -0,0 +1,179 @@
+package org.volunteer.server.util;
+
+import java.util.Arrays;
+
+import org.volunteer.server.model.ProblemInstance;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD variant of {@link FitnessCalculator}'s full fitness scan built on the incubating
+ * JDK Vector API.
+ * <p>
+ * Each step widens one lane-width block of genes to ints, turns them into cost table
+ * offsets ({@code volunteer * services + gene}) and gathers the costs, accumulating
+ * both halves in long lanes so the sum is exact. This works for any catalog size. The
+ * per-service load histogram is counted in the same pass, and the overflow penalty is a
+ * masked vector reduction over services. Results equal the scalar path bit for bit.
+ * <p>
+ * While the catalog has no more services than a vector has lanes (16 ints with AVX-512,
+ * 8 with AVX2) the histogram is counted with one lane-wise comparison per service. For
+ * larger catalogs that would cost more comparisons than there are genes, so each block
+ * is spilled to the offset buffer and tallied lane by lane instead.
+ * <p>
+ * Compiled only by the {@code vector} Maven profile and instantiated reflectively by
+ * {@link FitnessEvaluator} after checking that the {@code jdk.incubator.vector} module is
+ * present. Class initialisation fails on hardware
+ * whose preferred vectors hold fewer than eight ints, as there is no 32-bit byte shape.
+ * Thread-safe: the only mutable state is a per-thread offset buffer.
+ */
+final class VectorFitness implements FitnessEvaluator.Scan {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(INTS.length() * Byte.SIZE));
+    private static final VectorSpecies<Short> SHORTS =
+            VectorSpecies.of(short.class, VectorShape.forBitSize(INTS.length() * Short.SIZE));
+    private static final int LANES = INTS.length();
+
+    /** Lane i holds i; scaled by the service count to form row offsets. */
+    private static final IntVector IOTA = IntVector.zero(INTS).addIndex(1);
+
+    /** Per-thread buffer for one block's gather offsets or, on large catalogs, its genes. */
+    private static final ThreadLocal<int[]> OFFSETS = ThreadLocal.withInitial(() -> new int[LANES]);
+
+    /** Vector counterpart of the int[] scalar scan. */
+    @Override
+    public double totalCost(int[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+        int s = inst.serviceCount();
+        int v = inst.volunteerCount();
+        int[] costs = inst.costs();
+        int[] offsets = OFFSETS.get();
+        Arrays.fill(load, loadFrom, loadFrom + s, 0);
+
+        LongVector acc = LongVector.zero(LONGS);
+        IntVector rows = IOTA.mul(s);
+        int stride = LANES * s;
+        int i = 0;
+        for (int row = 0; i <= v - LANES; i += LANES, row += stride) {
+            IntVector g = IntVector.fromArray(INTS, genes, geneFrom + i);
+            count(g, s, load, loadFrom, offsets);
+            acc = gather(acc, g, rows.add(row), costs, offsets);
+        }
+        long cost = acc.reduceLanes(VectorOperators.ADD);
+        for (int row = i * s; i < v; i++, row += s) {
+            int svc = genes[geneFrom + i];
+            load[loadFrom + svc]++;
+            cost += costs[row + svc];
+        }
+        return cost + overflowPenalty(load, loadFrom, inst.capacities());
+    }
+
+    /** Vector counterpart of the unsigned byte[] scalar scan. */
+    @Override
+    public double totalCost(byte[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+        int s = inst.serviceCount();
+        int v = inst.volunteerCount();
+        int[] costs = inst.costs();
+        int[] offsets = OFFSETS.get();
+        Arrays.fill(load, loadFrom, loadFrom + s, 0);
+
+        LongVector acc = LongVector.zero(LONGS);
+        IntVector rows = IOTA.mul(s);
+        int stride = LANES * s;
+        int i = 0;
+        for (int row = 0; i <= v - LANES; i += LANES, row += stride) {
+            IntVector g = (IntVector) ByteVector.fromArray(BYTES, genes, geneFrom + i)
+                    .convertShape(VectorOperators.ZERO_EXTEND_B2I, INTS, 0);
+            count(g, s, load, loadFrom, offsets);
+            acc = gather(acc, g, rows.add(row), costs, offsets);
+        }
+        long cost = acc.reduceLanes(VectorOperators.ADD);
+        for (int row = i * s; i < v; i++, row += s) {
+            int svc = genes[geneFrom + i] & 0xFF;
+            load[loadFrom + svc]++;
+            cost += costs[row + svc];
+        }
+        return cost + overflowPenalty(load, loadFrom, inst.capacities());
+    }
+
+    /** Vector counterpart of the unsigned short[] scalar scan. */
+    @Override
+    public double totalCost(short[] genes, int geneFrom, ProblemInstance inst, int[] load, int loadFrom) {
+        int s = inst.serviceCount();
+        int v = inst.volunteerCount();
+        int[] costs = inst.costs();
+        int[] offsets = OFFSETS.get();
+        Arrays.fill(load, loadFrom, loadFrom + s, 0);
+
+        LongVector acc = LongVector.zero(LONGS);
+        IntVector rows = IOTA.mul(s);
+        int stride = LANES * s;
+        int i = 0;
+        for (int row = 0; i <= v - LANES; i += LANES, row += stride) {
+            IntVector g = (IntVector) ShortVector.fromArray(SHORTS, genes, geneFrom + i)
+                    .convertShape(VectorOperators.ZERO_EXTEND_S2I, INTS, 0);
+            count(g, s, load, loadFrom, offsets);
+            acc = gather(acc, g, rows.add(row), costs, offsets);
+        }
+        long cost = acc.reduceLanes(VectorOperators.ADD);
+        for (int row = i * s; i < v; i++, row += s) {
+            int svc = genes[geneFrom + i] & 0xFFFF;
+            load[loadFrom + svc]++;
+            cost += costs[row + svc];
+        }
+        return cost + overflowPenalty(load, loadFrom, inst.capacities());
+    }
+
+    /* ---------- helpers ---------- */
+
+    /** Gathers one block of costs at {@code rows + genes} and adds them to the long lanes. */
+    private static LongVector gather(LongVector acc, IntVector genes, IntVector rows,
+                                     int[] costs, int[] offsets) {
+        genes.add(rows).intoArray(offsets, 0);
+        IntVector c = IntVector.fromArray(INTS, costs, 0, offsets, 0);
+        return acc.add(c.convertShape(VectorOperators.I2L, LONGS, 0))
+                  .add(c.convertShape(VectorOperators.I2L, LONGS, 1));
+    }
+
+    /**
+     * Adds one block of genes to the load histogram. Small catalogs compare the block
+     * against every service and add the match counts, which avoids the store-to-load
+     * chains of incrementing the same few counters lane by lane; larger ones spill the
+     * block to {@code buffer} and increment per lane.
+     */
+    private static void count(IntVector genes, int services, int[] load, int loadFrom, int[] buffer) {
+        if (services <= LANES) {
+            for (int j = 0; j < services; j++) {
+                load[loadFrom + j] += genes.eq(j).trueCount();
+            }
+            return;
+        }
+        genes.intoArray(buffer, 0);
+        for (int k = 0; k < LANES; k++) load[loadFrom + buffer[k]]++;
+    }
+
+    /** Sum of positive {@code load - capacity} over services, as a masked vector reduction. */
+    private static double overflowPenalty(int[] load, int loadFrom, int[] caps) {
+        long overflow = 0;
+        for (int j = 0; j < caps.length; j += LANES) {
+            VectorMask<Integer> m = INTS.indexInRange(j, caps.length);
+            IntVector excess = IntVector.fromArray(INTS, load, loadFrom + j, m)
+                    .sub(IntVector.fromArray(INTS, caps, j, m))
+                    .max(0);
+            overflow += excess.reduceLanes(VectorOperators.ADD, m);
+        }
+        return FitnessCalculator.OVERFLOW_PENALTY * overflow;
+    }
+
+    /** Instantiated by {@link FitnessEvaluator} only. */
+    VectorFitness() {}
+}